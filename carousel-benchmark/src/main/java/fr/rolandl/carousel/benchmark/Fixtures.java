@@ -0,0 +1,67 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.Projection;
+import fr.rolandl.carousel.core.RingGeometry;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * The carousel shared by the benchmarks: a full HD portrait screen with items of 300x400 pixels.
+ */
+final class Fixtures
+{
+
+  static final int WIDTH = 1080;
+
+  static final int HEIGHT = 1920;
+
+  static final int ITEM_WIDTH = 300;
+
+  static final int ITEM_HEIGHT = 400;
+
+  /**
+   * The rotation, in degrees, of a typical drag event
+   */
+  static final float SCROLL_DELTA = 1.7f;
+
+  private Fixtures()
+  {
+  }
+
+  /**
+   * Computes the z coordinate of every item of the ring for the given ring angle.
+   */
+  static void computeZ(RingGeometry geometry, float ringAngle, int itemCount, float[] z)
+  {
+    final float[] position3D = new float[3];
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      geometry.computePosition(i, RingGeometry.getAngle(ringAngle, i, itemCount), Fixtures.ITEM_WIDTH, position3D, 0);
+      z[i] = position3D[2];
+    }
+  }
+
+  /**
+   * Fills the matrices and the bounds of the items as the carousel would draw them: each item is translated to its 3D position and scaled by the
+   * perspective of the camera.
+   */
+  static void computeMatrices(RingGeometry geometry, float ringAngle, int itemCount, float[] matrices, float[] bounds, float[] z)
+  {
+    final float[] position3D = new float[3];
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      geometry.computePosition(i, RingGeometry.getAngle(ringAngle, i, itemCount), Fixtures.ITEM_WIDTH, position3D, 0);
+
+      Projection.computeMatrix(position3D[0], position3D[1], position3D[2], Fixtures.WIDTH / 2, Fixtures.HEIGHT / 2, matrices,
+          i * Projection.MATRIX_SIZE);
+
+      bounds[i * 4 + 2] = Fixtures.ITEM_WIDTH;
+      bounds[i * 4 + 3] = Fixtures.ITEM_HEIGHT;
+      z[i] = position3D[2];
+    }
+  }
+
+}
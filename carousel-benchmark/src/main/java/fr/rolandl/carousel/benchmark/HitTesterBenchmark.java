@@ -0,0 +1,108 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.HitTester;
+import fr.rolandl.carousel.core.RingGeometry;
+import fr.rolandl.carousel.core.SpatialIndex;
+import fr.rolandl.carousel.core.ZOrder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Measures the hit-testing behind CarouselSpinner.pointToPosition, done on every touch down: the quads are projected when the matrices change, so only
+ * the lookup is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HitTesterBenchmark
+{
+
+  @Param({ "5", "50", "500", "5000" })
+  public int itemCount;
+
+  private float[] quads;
+
+  /**
+   * The indexes of the items, from the front most one to the back most one
+   */
+  private int[] order;
+
+  private final SpatialIndex index = new SpatialIndex();
+
+  @Setup
+  public void setUp()
+  {
+    final RingGeometry geometry = new RingGeometry();
+    geometry.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+    final float[] matrices = new float[itemCount * 9];
+    final float[] bounds = new float[itemCount * 4];
+    final float[] z = new float[itemCount];
+
+    Fixtures.computeMatrices(geometry, 0.0f, itemCount, matrices, bounds, z);
+
+    quads = new float[itemCount * HitTester.QUAD_SIZE];
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      HitTester.projectRect(matrices, i * 9, bounds[i * 4], bounds[i * 4 + 1], bounds[i * 4 + 2], bounds[i * 4 + 3], quads, i * HitTester.QUAD_SIZE);
+    }
+
+    index.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      index.update(i, quads, i * HitTester.QUAD_SIZE, z[i]);
+    }
+
+    // The drawing order goes from the back to the front
+    final ZOrder zOrder = new ZOrder();
+    zOrder.sort(z, itemCount);
+    order = new int[itemCount];
+
+    for (int rank = 0; rank < itemCount; rank++)
+    {
+      order[rank] = zOrder.get(itemCount - 1 - rank);
+    }
+  }
+
+  @Benchmark
+  public int tapOnFrontItem()
+  {
+    return HitTester.hitTest(quads, order, itemCount, Fixtures.WIDTH / 2, (Fixtures.HEIGHT + Fixtures.ITEM_HEIGHT) / 2);
+  }
+
+  @Benchmark
+  public int tapOutsideOfTheRing()
+  {
+    return HitTester.hitTest(quads, order, itemCount, 0, Fixtures.HEIGHT - 1);
+  }
+
+  @Benchmark
+  public int tapOnFrontItemIndexed()
+  {
+    return index.query(Fixtures.WIDTH / 2, (Fixtures.HEIGHT + Fixtures.ITEM_HEIGHT) / 2, null);
+  }
+
+  @Benchmark
+  public int tapOutsideOfTheRingIndexed()
+  {
+    return index.query(0, Fixtures.HEIGHT - 1, null);
+  }
+
+}
@@ -0,0 +1,140 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.HitTester;
+import fr.rolandl.carousel.core.ItemStates;
+import fr.rolandl.carousel.core.Projection;
+import fr.rolandl.carousel.core.RingGeometry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Measures the update of the items done on each frame the ring rotates: the 3D position, the matrix and the projected bounds of every attached item,
+ * from the arrays of {@link ItemStates}, against the same work on one object per item, as when the state lived in the item views.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemStatesBenchmark
+{
+
+  /**
+   * The state of an item held by the item itself
+   */
+  private static final class ItemState
+  {
+
+    int position;
+
+    int width;
+
+    int ringVersion = -1;
+
+    float angle;
+
+    float x;
+
+    float y;
+
+    float z;
+
+    final float[] matrix = new float[Projection.MATRIX_SIZE];
+
+    final float[] quad = new float[HitTester.QUAD_SIZE];
+
+  }
+
+  @Param({ "5", "50", "500", "5000" })
+  public int itemCount;
+
+  private final RingGeometry geometry = new RingGeometry();
+
+  private final ItemStates itemStates = new ItemStates();
+
+  private int[] slots;
+
+  private ItemState[] items;
+
+  private final float[] position3D = new float[3];
+
+  private float ringAngle;
+
+  private int ringVersion;
+
+  @Setup
+  public void setUp()
+  {
+    geometry.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+    slots = new int[itemCount];
+    items = new ItemState[itemCount];
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      slots[i] = itemStates.allocate();
+      itemStates.setPosition(slots[i], i);
+      itemStates.setWidth(slots[i], Fixtures.ITEM_WIDTH);
+      itemStates.setAttached(slots[i], true);
+
+      items[i] = new ItemState();
+      items[i].position = i;
+      items[i].width = Fixtures.ITEM_WIDTH;
+    }
+  }
+
+  @Benchmark
+  public ItemStates updatePositions()
+  {
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + Fixtures.SCROLL_DELTA);
+    itemStates.updatePositions(geometry, ringAngle, itemCount, ++ringVersion, 0.0f);
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      itemStates.computeMatrix(slots[i], Fixtures.WIDTH / 2, Fixtures.HEIGHT / 2, 0.0f, 0.0f, Fixtures.ITEM_WIDTH, Fixtures.ITEM_HEIGHT);
+    }
+
+    return itemStates;
+  }
+
+  @Benchmark
+  public ItemState[] updatePositionPerItem()
+  {
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + Fixtures.SCROLL_DELTA);
+    ringVersion++;
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      final ItemState item = items[i];
+
+      if (item.ringVersion != ringVersion)
+      {
+        item.angle = RingGeometry.getAngle(ringAngle, item.position, itemCount);
+        geometry.computePosition(item.position, item.angle, item.width, position3D, 0);
+        item.x = position3D[0];
+        item.y = position3D[1];
+        item.z = position3D[2];
+        item.ringVersion = ringVersion;
+      }
+
+      Projection.computeMatrix(item.x, item.y, item.z, Fixtures.WIDTH / 2, Fixtures.HEIGHT / 2, item.matrix, 0);
+      HitTester.projectRect(item.matrix, 0, 0.0f, 0.0f, Fixtures.ITEM_WIDTH, Fixtures.ITEM_HEIGHT, item.quad, 0);
+    }
+
+    return items;
+  }
+
+}
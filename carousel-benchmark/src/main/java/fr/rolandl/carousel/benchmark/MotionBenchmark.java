@@ -0,0 +1,123 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.DecelerateMotion;
+import fr.rolandl.carousel.core.LinearMotion;
+import fr.rolandl.carousel.core.Motion;
+import fr.rolandl.carousel.core.OvershootMotion;
+import fr.rolandl.carousel.core.Rotation;
+import fr.rolandl.carousel.core.SpringMotion;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Measures one animation frame of a rotation into a slot with each motion, a rotation started on each frame, as when a snap takes over a rotation
+ * in flight, and a rotation in flight retargeted one slot further on each frame, as when a carousel is advanced by rapid events.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MotionBenchmark
+{
+
+  /**
+   * The duration of the animation, in milliseconds
+   */
+  private static final int DURATION = 400;
+
+  /**
+   * The time between two frames at 60 fps, in nanoseconds
+   */
+  private static final long FRAME_TIME = 16666667L;
+
+  /**
+   * The angle between two items of a ring of 12 items
+   */
+  private static final float ANGLE = 30.0f;
+
+  @Param({ "linear", "decelerate", "overshoot", "spring" })
+  public String motion;
+
+  private final Rotation rotation = new Rotation();
+
+  private long time;
+
+  @Setup
+  public void setUp()
+  {
+    final Motion motion;
+
+    switch (this.motion)
+    {
+    case "decelerate":
+      motion = new DecelerateMotion();
+      break;
+
+    case "overshoot":
+      motion = new OvershootMotion();
+      break;
+
+    case "spring":
+      motion = new SpringMotion();
+      break;
+
+    default:
+      motion = new LinearMotion();
+      break;
+    }
+
+    rotation.setMotion(motion);
+  }
+
+  @Benchmark
+  public float step()
+  {
+    if (rotation.isFinished() == true)
+    {
+      rotation.startRotate(time, 0.0f, MotionBenchmark.ANGLE, MotionBenchmark.DURATION);
+    }
+
+    time += MotionBenchmark.FRAME_TIME;
+    rotation.computeAngleOffset(time);
+
+    return rotation.getCurrAngle() + rotation.getCurrVelocity(time);
+  }
+
+  @Benchmark
+  public float restart()
+  {
+    final float velocity = rotation.getCurrVelocity(time);
+
+    rotation.startRotate(time, 0.0f, MotionBenchmark.ANGLE, MotionBenchmark.DURATION, velocity);
+    time += MotionBenchmark.FRAME_TIME;
+    rotation.computeAngleOffset(time);
+
+    return rotation.getCurrAngle();
+  }
+
+  @Benchmark
+  public float retarget()
+  {
+    rotation.retarget(time, rotation.getFinalAngle() + MotionBenchmark.ANGLE, MotionBenchmark.DURATION);
+    time += MotionBenchmark.FRAME_TIME;
+    rotation.computeAngleOffset(time);
+
+    return rotation.getCurrAngle() + rotation.getCurrVelocity(time);
+  }
+
+}
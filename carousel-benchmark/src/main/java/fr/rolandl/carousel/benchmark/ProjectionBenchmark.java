@@ -0,0 +1,87 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.HitTester;
+import fr.rolandl.carousel.core.Projection;
+import fr.rolandl.carousel.core.RingGeometry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Measures, per item, the matrix computed for each item which moved on a frame of Carousel.getChildStaticTransformation, alone and with the projection
+ * of its quad for the hit-testing. The native android.graphics.Camera it replaces cannot run on the JVM: it took four JNI calls, plus two for the
+ * centering and two for the hit-testing, against none here.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(ProjectionBenchmark.ITEM_COUNT)
+public class ProjectionBenchmark
+{
+
+  /**
+   * The number of items of the ring
+   */
+  static final int ITEM_COUNT = 50;
+
+  private final float[] positions = new float[ProjectionBenchmark.ITEM_COUNT * 3];
+
+  private final float[] matrices = new float[ProjectionBenchmark.ITEM_COUNT * Projection.MATRIX_SIZE];
+
+  private final float[] quads = new float[ProjectionBenchmark.ITEM_COUNT * HitTester.QUAD_SIZE];
+
+  @Setup
+  public void setUp()
+  {
+    final RingGeometry geometry = new RingGeometry();
+    geometry.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+
+    for (int i = 0; i < ProjectionBenchmark.ITEM_COUNT; i++)
+    {
+      geometry.computePosition(i, RingGeometry.getAngle(0.0f, i, ProjectionBenchmark.ITEM_COUNT), Fixtures.ITEM_WIDTH, positions, i * 3);
+    }
+  }
+
+  @Benchmark
+  public float[] matrix()
+  {
+    for (int i = 0; i < ProjectionBenchmark.ITEM_COUNT; i++)
+    {
+      Projection.computeMatrix(positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2], Fixtures.WIDTH / 2, Fixtures.HEIGHT / 2, matrices,
+          i * Projection.MATRIX_SIZE);
+    }
+
+    return matrices;
+  }
+
+  @Benchmark
+  public float[] matrixAndQuad()
+  {
+    for (int i = 0; i < ProjectionBenchmark.ITEM_COUNT; i++)
+    {
+      final int offset = i * Projection.MATRIX_SIZE;
+
+      Projection.computeMatrix(positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2], Fixtures.WIDTH / 2, Fixtures.HEIGHT / 2, matrices,
+          offset);
+      HitTester.projectRect(matrices, offset, 0.0f, 0.0f, Fixtures.ITEM_WIDTH, Fixtures.ITEM_HEIGHT, quads, i * HitTester.QUAD_SIZE);
+    }
+
+    return quads;
+  }
+
+}
@@ -0,0 +1,108 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.RingGeometry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Measures the ring layout done on each scroll event: the 3D position of every item, and the search of the item to snap to and the rotation to its slot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingGeometryBenchmark
+{
+
+  @Param({ "5", "50", "500", "5000" })
+  public int itemCount;
+
+  private final RingGeometry geometry = new RingGeometry();
+
+  private int[] positions;
+
+  private int[] itemWidths;
+
+  private float[] x;
+
+  private float[] y;
+
+  private float[] z;
+
+  private final float[] position3D = new float[3];
+
+  private float ringAngle;
+
+  @Setup
+  public void setUp()
+  {
+    geometry.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+    positions = new int[itemCount];
+    itemWidths = new int[itemCount];
+    x = new float[itemCount];
+    y = new float[itemCount];
+    z = new float[itemCount];
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      positions[i] = i;
+      itemWidths[i] = Fixtures.ITEM_WIDTH;
+    }
+  }
+
+  @Benchmark
+  public float[] computePositions()
+  {
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + Fixtures.SCROLL_DELTA);
+    geometry.computePositions(ringAngle, itemCount, positions, itemWidths, itemCount, x, y, z);
+
+    return z;
+  }
+
+  @Benchmark
+  public float computePositionPerItem()
+  {
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + Fixtures.SCROLL_DELTA);
+    float sum = 0.0f;
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      geometry.computePosition(i, RingGeometry.getAngle(ringAngle, i, itemCount), Fixtures.ITEM_WIDTH, position3D, 0);
+      sum += position3D[2];
+    }
+
+    return sum;
+  }
+
+  @Benchmark
+  public int nearestToFront()
+  {
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + Fixtures.SCROLL_DELTA);
+
+    return RingGeometry.getNearestToFront(ringAngle, itemCount);
+  }
+
+  @Benchmark
+  public float snapRotation()
+  {
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + Fixtures.SCROLL_DELTA);
+
+    return RingGeometry.getSnapRotation(ringAngle, itemCount);
+  }
+
+}
@@ -0,0 +1,131 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.RingGeometry;
+import fr.rolandl.carousel.core.Rotation;
+import fr.rolandl.carousel.core.ZOrder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Measures one animation frame of the carousel: the rotation step computed by the Rotator, the new position of every item and the drawing order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RotationBenchmark
+{
+
+  /**
+   * The duration of the animation, in milliseconds
+   */
+  private static final int DURATION = 900;
+
+  /**
+   * The time between two frames at 60 fps, in nanoseconds
+   */
+  private static final long FRAME_TIME = 16666667L;
+
+  @Param({ "5", "50", "500", "5000" })
+  public int itemCount;
+
+  private final RingGeometry geometry = new RingGeometry();
+
+  private final Rotation rotation = new Rotation();
+
+  private final ZOrder zOrder = new ZOrder();
+
+  private int[] positions;
+
+  private int[] itemWidths;
+
+  private float[] x;
+
+  private float[] y;
+
+  private float[] z;
+
+  private long time;
+
+  private float lastAngle;
+
+  private float ringAngle;
+
+  @Setup
+  public void setUp()
+  {
+    geometry.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+    positions = new int[itemCount];
+    itemWidths = new int[itemCount];
+    x = new float[itemCount];
+    y = new float[itemCount];
+    z = new float[itemCount];
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      positions[i] = i;
+      itemWidths[i] = Fixtures.ITEM_WIDTH;
+    }
+  }
+
+  @Benchmark
+  public float scrollStep()
+  {
+    if (rotation.isFinished() == true)
+    {
+      rotation.startRotate(time, 0.0f, -360.0f / itemCount, RotationBenchmark.DURATION);
+      lastAngle = 0.0f;
+    }
+
+    time += RotationBenchmark.FRAME_TIME;
+    rotation.computeAngleOffset(time);
+
+    return rotation.getCurrAngle();
+  }
+
+  @Benchmark
+  public float flingStep()
+  {
+    if (rotation.isFinished() == true)
+    {
+      rotation.fling(time, 0.0f, -4.0f * 360.0f / itemCount, 800.0f, Rotation.DEFAULT_FLING_DECELERATION);
+      lastAngle = 0.0f;
+    }
+
+    time += RotationBenchmark.FRAME_TIME;
+    rotation.computeAngleOffset(time);
+
+    return rotation.getCurrAngle();
+  }
+
+  @Benchmark
+  public int frame()
+  {
+    final float angle = scrollStep();
+
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + lastAngle - angle);
+    lastAngle = angle;
+
+    geometry.computePositions(ringAngle, itemCount, positions, itemWidths, itemCount, x, y, z);
+    zOrder.invalidate();
+    zOrder.sort(z, itemCount);
+
+    return zOrder.get(0);
+  }
+
+}
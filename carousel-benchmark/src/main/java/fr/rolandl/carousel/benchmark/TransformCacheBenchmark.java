@@ -0,0 +1,78 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.RingGeometry;
+import fr.rolandl.carousel.core.TransformCache;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Measures the 3D position of every item on each scroll event, computed with the exact trigonometry or read from the transform cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformCacheBenchmark
+{
+
+  @Param({ "5", "50", "500", "5000" })
+  public int itemCount;
+
+  private final RingGeometry geometry = new RingGeometry();
+
+  private final RingGeometry cachedGeometry = new RingGeometry();
+
+  private final float[] position3D = new float[3];
+
+  private float ringAngle;
+
+  @Setup
+  public void setUp()
+  {
+    geometry.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+    cachedGeometry.setTransformCache(new TransformCache());
+    cachedGeometry.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+  }
+
+  @Benchmark
+  public float computed()
+  {
+    return computePositions(geometry);
+  }
+
+  @Benchmark
+  public float cached()
+  {
+    return computePositions(cachedGeometry);
+  }
+
+  private float computePositions(RingGeometry geometry)
+  {
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + Fixtures.SCROLL_DELTA);
+    float sum = 0.0f;
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      geometry.computePosition(i, RingGeometry.getAngle(ringAngle, i, itemCount), Fixtures.ITEM_WIDTH, position3D, 0);
+      sum += position3D[2];
+    }
+
+    return sum;
+  }
+
+}
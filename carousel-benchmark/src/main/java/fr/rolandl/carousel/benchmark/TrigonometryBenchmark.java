@@ -0,0 +1,96 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.ExactTrigonometry;
+import fr.rolandl.carousel.core.IncrementalTrigonometry;
+import fr.rolandl.carousel.core.LookupTableTrigonometry;
+import fr.rolandl.carousel.core.RingGeometry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Compares the trigonometry backends of the ring on a scroll event followed by the positioning of every item.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrigonometryBenchmark
+{
+
+  @Param({ "5", "50", "500", "5000" })
+  public int itemCount;
+
+  @Param({ "exact", "lookupTable", "incremental" })
+  public String trigonometry;
+
+  private final RingGeometry geometry = new RingGeometry();
+
+  private int[] positions;
+
+  private int[] itemWidths;
+
+  private float[] x;
+
+  private float[] y;
+
+  private float[] z;
+
+  private float ringAngle;
+
+  @Setup
+  public void setUp()
+  {
+    if ("lookupTable".equals(trigonometry) == true)
+    {
+      geometry.setTrigonometry(new LookupTableTrigonometry());
+    }
+    else if ("incremental".equals(trigonometry) == true)
+    {
+      geometry.setTrigonometry(new IncrementalTrigonometry());
+    }
+    else
+    {
+      geometry.setTrigonometry(new ExactTrigonometry());
+    }
+
+    geometry.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+    geometry.setRing(ringAngle, itemCount);
+    positions = new int[itemCount];
+    itemWidths = new int[itemCount];
+    x = new float[itemCount];
+    y = new float[itemCount];
+    z = new float[itemCount];
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      positions[i] = i;
+      itemWidths[i] = Fixtures.ITEM_WIDTH;
+    }
+  }
+
+  @Benchmark
+  public float[] scroll()
+  {
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + Fixtures.SCROLL_DELTA);
+    geometry.rotate(Fixtures.SCROLL_DELTA, ringAngle);
+    geometry.computePositions(ringAngle, itemCount, positions, itemWidths, itemCount, x, y, z);
+
+    return z;
+  }
+
+}
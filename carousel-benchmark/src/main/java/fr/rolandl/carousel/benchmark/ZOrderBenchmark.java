@@ -0,0 +1,93 @@
+package fr.rolandl.carousel.benchmark;
+
+import fr.rolandl.carousel.core.RingGeometry;
+import fr.rolandl.carousel.core.ZOrder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Measures the z-sorting behind the drawing order of the children: once per frame while the ring rotates, and from scratch after a layout.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZOrderBenchmark
+{
+
+  /**
+   * The number of precomputed frames the rotation benchmark cycles through
+   */
+  private static final int FRAME_COUNT = 64;
+
+  @Param({ "5", "50", "500", "5000" })
+  public int itemCount;
+
+  private final ZOrder zOrder = new ZOrder();
+
+  private float[][] frames;
+
+  private int frame;
+
+  private int[] order;
+
+  private int[] identity;
+
+  @Setup
+  public void setUp()
+  {
+    final RingGeometry geometry = new RingGeometry();
+    geometry.setSize(Fixtures.WIDTH, Fixtures.HEIGHT);
+    frames = new float[ZOrderBenchmark.FRAME_COUNT][itemCount];
+
+    for (int i = 0; i < ZOrderBenchmark.FRAME_COUNT; i++)
+    {
+      Fixtures.computeZ(geometry, i * Fixtures.SCROLL_DELTA, itemCount, frames[i]);
+    }
+
+    zOrder.sort(frames[0], itemCount);
+    order = new int[itemCount];
+    identity = new int[itemCount];
+
+    for (int i = 0; i < itemCount; i++)
+    {
+      identity[i] = i;
+    }
+  }
+
+  @Benchmark
+  public int sortAfterRotation()
+  {
+    frame = (frame + 1) % ZOrderBenchmark.FRAME_COUNT;
+    zOrder.invalidate();
+    zOrder.sort(frames[frame], itemCount);
+
+    return zOrder.get(0);
+  }
+
+  @Benchmark
+  public int sortFromScratch()
+  {
+    frame = (frame + 1) % ZOrderBenchmark.FRAME_COUNT;
+    System.arraycopy(identity, 0, order, 0, itemCount);
+    ZOrder.sortByDecreasingZ(order, frames[frame], itemCount);
+
+    return order[0];
+  }
+
+}
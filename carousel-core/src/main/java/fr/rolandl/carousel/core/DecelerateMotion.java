@@ -0,0 +1,69 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Covers the angle over the requested duration, starting fast and slowing down to a stop, like {@code android.view.animation.DecelerateInterpolator}:
+ * the covered fraction is 1 - (1 - t)^(2 * factor). With the default factor, the deceleration is constant, as the one of a fling.
+ */
+public final class DecelerateMotion
+    implements Motion
+{
+
+  public static final float DEFAULT_FACTOR = 1.0f;
+
+  private static final double NANOS_PER_SECOND = 1000000000.0;
+
+  private final double factor;
+
+  private float deltaAngle;
+
+  private long durationNanos;
+
+  public DecelerateMotion()
+  {
+    this(DecelerateMotion.DEFAULT_FACTOR);
+  }
+
+  /**
+   * @param factor How strongly the rotation slows down, strictly positive
+   */
+  public DecelerateMotion(float factor)
+  {
+    if (factor <= 0.0f)
+    {
+      throw new IllegalArgumentException("The factor must be strictly positive");
+    }
+
+    this.factor = factor;
+  }
+
+  @Override
+  public long start(float deltaAngle, float velocity, long durationNanos)
+  {
+    this.deltaAngle = deltaAngle;
+    this.durationNanos = Math.max(1L, durationNanos);
+
+    return this.durationNanos;
+  }
+
+  @Override
+  public float getAngle(long elapsedNanos)
+  {
+    final double remaining = 1.0 - (double) elapsedNanos / durationNanos;
+    final double fraction = factor == 1.0 ? 1.0 - remaining * remaining : 1.0 - Math.pow(remaining, 2.0 * factor);
+
+    return (float) (deltaAngle * fraction);
+  }
+
+  @Override
+  public float getVelocity(long elapsedNanos)
+  {
+    final double remaining = 1.0 - (double) elapsedNanos / durationNanos;
+    final double derivative = factor == 1.0 ? 2.0 * remaining : 2.0 * factor * Math.pow(remaining, 2.0 * factor - 1.0);
+
+    return (float) (deltaAngle * derivative * DecelerateMotion.NANOS_PER_SECOND / durationNanos);
+  }
+
+}
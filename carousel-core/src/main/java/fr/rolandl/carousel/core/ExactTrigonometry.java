@@ -0,0 +1,34 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Calls {@link Math#sin(double)} and {@link Math#cos(double)} for every item.
+ */
+public final class ExactTrigonometry
+    implements Trigonometry
+{
+
+  private static final double DEGREES_TO_RADIANS = Math.PI / 180.0;
+
+  @Override
+  public void setRing(float ringAngle, int count)
+  {
+  }
+
+  @Override
+  public void rotate(float deltaAngle, float ringAngle)
+  {
+  }
+
+  @Override
+  public void sinCos(int position, float angle, float[] out, int offset)
+  {
+    final double radians = angle * ExactTrigonometry.DEGREES_TO_RADIANS;
+
+    out[offset] = (float) Math.sin(radians);
+    out[offset + 1] = (float) Math.cos(radians);
+  }
+
+}
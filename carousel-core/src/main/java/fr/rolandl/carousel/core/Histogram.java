@@ -0,0 +1,180 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * A histogram of positive values with power of two buckets: the bucket 0 counts the zeros, and the bucket b counts the values in [2^(b-1), 2^b[.
+ * Recording a value does not allocate, so it can be done on every frame.
+ */
+public final class Histogram
+{
+
+  /**
+   * The number of buckets, enough for any positive long
+   */
+  public static final int BUCKET_COUNT = 64;
+
+  private final long[] buckets = new long[Histogram.BUCKET_COUNT];
+
+  private long count;
+
+  private long sum;
+
+  private long min = Long.MAX_VALUE;
+
+  private long max = Long.MIN_VALUE;
+
+  /**
+   * @return The bucket of the given value
+   */
+  public static int getBucket(long value)
+  {
+    return value <= 0L ? 0 : 64 - Long.numberOfLeadingZeros(value);
+  }
+
+  /**
+   * @return The smallest value counted by the given bucket
+   */
+  public static long getBucketLowerBound(int bucket)
+  {
+    return bucket == 0 ? 0L : 1L << (bucket - 1);
+  }
+
+  /**
+   * @return The greatest value counted by the given bucket
+   */
+  public static long getBucketUpperBound(int bucket)
+  {
+    return bucket == 0 ? 0L : bucket == Histogram.BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1L;
+  }
+
+  /**
+   * Records a value. The negative values are counted as zeros.
+   */
+  public void record(long value)
+  {
+    if (value < 0L)
+    {
+      value = 0L;
+    }
+
+    buckets[Histogram.getBucket(value)]++;
+    count++;
+    sum += value;
+
+    if (value < min)
+    {
+      min = value;
+    }
+
+    if (value > max)
+    {
+      max = value;
+    }
+  }
+
+  /**
+   * @return The number of values counted by the given bucket
+   */
+  public long getCountInBucket(int bucket)
+  {
+    return buckets[bucket];
+  }
+
+  /**
+   * @return The number of recorded values
+   */
+  public long getCount()
+  {
+    return count;
+  }
+
+  public long getSum()
+  {
+    return sum;
+  }
+
+  /**
+   * @return The smallest recorded value, or 0 if no value has been recorded
+   */
+  public long getMin()
+  {
+    return count == 0L ? 0L : min;
+  }
+
+  /**
+   * @return The greatest recorded value, or 0 if no value has been recorded
+   */
+  public long getMax()
+  {
+    return count == 0L ? 0L : max;
+  }
+
+  /**
+   * @return The mean of the recorded values, or 0 if no value has been recorded
+   */
+  public double getMean()
+  {
+    return count == 0L ? 0.0 : (double) sum / count;
+  }
+
+  /**
+   * Estimates a percentile from the buckets: the result is the upper bound of the bucket containing the percentile, within the recorded range.
+   *
+   * @param percentile The percentile, between 0 and 100
+   * @return The estimated value, or 0 if no value has been recorded
+   */
+  public long getValueAtPercentile(double percentile)
+  {
+    if (count == 0L)
+    {
+      return 0L;
+    }
+
+    final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+    long cumulatedCount = 0L;
+
+    for (int bucket = 0; bucket < Histogram.BUCKET_COUNT; bucket++)
+    {
+      cumulatedCount += buckets[bucket];
+
+      if (cumulatedCount >= rank)
+      {
+        return Math.max(min, Math.min(max, Histogram.getBucketUpperBound(bucket)));
+      }
+    }
+
+    return max;
+  }
+
+  /**
+   * Adds the values recorded by another histogram to this one.
+   */
+  public void add(Histogram histogram)
+  {
+    for (int bucket = 0; bucket < Histogram.BUCKET_COUNT; bucket++)
+    {
+      buckets[bucket] += histogram.buckets[bucket];
+    }
+
+    count += histogram.count;
+    sum += histogram.sum;
+    min = Math.min(min, histogram.min);
+    max = Math.max(max, histogram.max);
+  }
+
+  public void reset()
+  {
+    for (int bucket = 0; bucket < Histogram.BUCKET_COUNT; bucket++)
+    {
+      buckets[bucket] = 0L;
+    }
+
+    count = 0L;
+    sum = 0L;
+    min = Long.MAX_VALUE;
+    max = Long.MIN_VALUE;
+  }
+
+}
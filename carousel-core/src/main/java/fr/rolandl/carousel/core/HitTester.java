@@ -0,0 +1,125 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Looks for the item of the ring which contains a point of the screen. Each item is represented by its projected quad: the four corners of its bounds
+ * mapped through its 3x3 matrix, stored 8 values per item (x and y of the top left, top right, bottom right and bottom left corners). The matrices are
+ * stored 9 values per item, in the order of {@code android.graphics.Matrix#getValues(float[])}. The items are tested front to back, so the first item
+ * containing the point is the one the user sees.
+ */
+public final class HitTester
+{
+
+  /**
+   * The number of values of a quad
+   */
+  public static final int QUAD_SIZE = 8;
+
+  private HitTester()
+  {
+  }
+
+  /**
+   * Maps a point through a 3x3 matrix.
+   *
+   * @param matrices The matrices
+   * @param offset   The index of the first value of the matrix to use
+   * @param x        The x coordinate of the point
+   * @param y        The y coordinate of the point
+   * @param out      Receives the mapped x and y coordinates, from the given index
+   * @param outIndex The index of the mapped x coordinate in out
+   */
+  public static void mapPoint(float[] matrices, int offset, float x, float y, float[] out, int outIndex)
+  {
+    final float w = matrices[offset + 6] * x + matrices[offset + 7] * y + matrices[offset + 8];
+    final float scale = w == 0.0f ? 1.0f : 1.0f / w;
+
+    out[outIndex] = (matrices[offset] * x + matrices[offset + 1] * y + matrices[offset + 2]) * scale;
+    out[outIndex + 1] = (matrices[offset + 3] * x + matrices[offset + 4] * y + matrices[offset + 5]) * scale;
+  }
+
+  /**
+   * Projects the bounds of an item through its matrix.
+   *
+   * @param matrices   The matrices
+   * @param offset     The index of the first value of the matrix to use
+   * @param left       The left of the item
+   * @param top        The top of the item
+   * @param right      The right of the item
+   * @param bottom     The bottom of the item
+   * @param quads      Receives the projected quad
+   * @param quadOffset The index of the first value of the quad
+   */
+  public static void projectRect(float[] matrices, int offset, float left, float top, float right, float bottom, float[] quads, int quadOffset)
+  {
+    HitTester.mapPoint(matrices, offset, left, top, quads, quadOffset);
+    HitTester.mapPoint(matrices, offset, right, top, quads, quadOffset + 2);
+    HitTester.mapPoint(matrices, offset, right, bottom, quads, quadOffset + 4);
+    HitTester.mapPoint(matrices, offset, left, bottom, quads, quadOffset + 6);
+  }
+
+  /**
+   * @return True if the given convex quad contains the point, whatever the orientation of its corners
+   */
+  public static boolean quadContains(float[] quads, int offset, float x, float y)
+  {
+    boolean hasPositive = false;
+    boolean hasNegative = false;
+
+    for (int corner = 0; corner < 4; corner++)
+    {
+      final int from = offset + corner * 2;
+      final int to = offset + ((corner + 1) & 3) * 2;
+      final float cross = (quads[to] - quads[from]) * (y - quads[from + 1]) - (quads[to + 1] - quads[from + 1]) * (x - quads[from]);
+
+      if (cross > 0.0f)
+      {
+        hasPositive = true;
+      }
+      else if (cross < 0.0f)
+      {
+        hasNegative = true;
+      }
+      else
+      {
+        // The edges do not belong to the quad
+        return false;
+      }
+
+      if (hasPositive == true && hasNegative == true)
+      {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Looks for the front most item whose quad contains the given point.
+   *
+   * @param quads The quad of each item, 8 values per item
+   * @param order The indexes of the items, from the front most one to the back most one
+   * @param count The number of items
+   * @param x     The x coordinate of the point
+   * @param y     The y coordinate of the point
+   * @return The index of the item, or -1 if no item contains the point
+   */
+  public static int hitTest(float[] quads, int[] order, int count, float x, float y)
+  {
+    for (int rank = 0; rank < count; rank++)
+    {
+      final int index = order[rank];
+
+      if (HitTester.quadContains(quads, index * HitTester.QUAD_SIZE, x, y) == true)
+      {
+        return index;
+      }
+    }
+
+    return -1;
+  }
+
+}
@@ -0,0 +1,66 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Counts the frames drawn while nothing changed on the ring: a frame is idle when the ring version did not change since the previous frame and no
+ * redraw was requested in between. The first frame is never idle.
+ */
+public final class IdleFrameCounter
+{
+
+  /**
+   * The ring version of the last frame drawn
+   */
+  private int drawnRingVersion;
+
+  /**
+   * True once a first frame has been drawn
+   */
+  private boolean framed;
+
+  /**
+   * True if a frame was requested without changing the ring, for instance to show a new selection
+   */
+  private boolean redrawPending;
+
+  private int count;
+
+  /**
+   * Requests the next frame without changing the ring, so that it is not counted as idle
+   */
+  public void requestRedraw()
+  {
+    redrawPending = true;
+  }
+
+  /**
+   * Records a frame drawn with the given ring version.
+   *
+   * @return True if the frame is idle
+   */
+  public boolean onFrame(int ringVersion)
+  {
+    final boolean idle = framed == true && ringVersion == drawnRingVersion && redrawPending == false;
+
+    if (idle == true)
+    {
+      count++;
+    }
+
+    framed = true;
+    drawnRingVersion = ringVersion;
+    redrawPending = false;
+    return idle;
+  }
+
+  /**
+   * @return The number of idle frames recorded
+   */
+  public int getCount()
+  {
+    return count;
+  }
+
+}
@@ -0,0 +1,108 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Since the items are evenly spaced, the angle of an item is the ring angle plus a constant offset. The sine and the cosine of the offset of each
+ * position are computed once, and the ones of the ring angle are advanced by each rotation, like a rotation matrix: a rotation costs one sine and one
+ * cosine whatever the number of items, and an item costs four multiplications.
+ */
+public final class IncrementalTrigonometry
+    implements Trigonometry
+{
+
+  private static final double DEGREES_TO_RADIANS = Math.PI / 180.0;
+
+  /**
+   * The number of incremental rotations after which the ring sine and cosine are computed again from the ring angle, so the rounding errors do not
+   * accumulate
+   */
+  private static final int RESYNC_PERIOD = 256;
+
+  private float[] positionSin = new float[0];
+
+  private float[] positionCos = new float[0];
+
+  private int count;
+
+  private double ringSin;
+
+  private double ringCos = 1.0;
+
+  private int rotations;
+
+  @Override
+  public void setRing(float ringAngle, int count)
+  {
+    if (this.count != count)
+    {
+      if (positionSin.length < count)
+      {
+        positionSin = new float[count];
+        positionCos = new float[count];
+      }
+
+      for (int i = 0; i < count; i++)
+      {
+        final double radians = 2.0 * Math.PI * i / count;
+
+        positionSin[i] = (float) Math.sin(radians);
+        positionCos[i] = (float) Math.cos(radians);
+      }
+
+      this.count = count;
+    }
+
+    syncRing(ringAngle);
+  }
+
+  @Override
+  public void rotate(float deltaAngle, float ringAngle)
+  {
+    if (++rotations >= IncrementalTrigonometry.RESYNC_PERIOD)
+    {
+      syncRing(ringAngle);
+      return;
+    }
+
+    final double radians = deltaAngle * IncrementalTrigonometry.DEGREES_TO_RADIANS;
+    final double deltaSin = Math.sin(radians);
+    final double deltaCos = Math.cos(radians);
+    final double sin = ringSin * deltaCos + ringCos * deltaSin;
+    final double cos = ringCos * deltaCos - ringSin * deltaSin;
+
+    ringSin = sin;
+    ringCos = cos;
+  }
+
+  @Override
+  public void sinCos(int position, float angle, float[] out, int offset)
+  {
+    if (position < 0 || position >= count)
+    {
+      // Not a position of the ring
+      final double radians = angle * IncrementalTrigonometry.DEGREES_TO_RADIANS;
+
+      out[offset] = (float) Math.sin(radians);
+      out[offset + 1] = (float) Math.cos(radians);
+      return;
+    }
+
+    final float sin = (float) ringSin;
+    final float cos = (float) ringCos;
+
+    out[offset] = sin * positionCos[position] + cos * positionSin[position];
+    out[offset + 1] = cos * positionCos[position] - sin * positionSin[position];
+  }
+
+  private void syncRing(float ringAngle)
+  {
+    final double radians = ringAngle * IncrementalTrigonometry.DEGREES_TO_RADIANS;
+
+    ringSin = Math.sin(radians);
+    ringCos = Math.cos(radians);
+    rotations = 0;
+  }
+
+}
@@ -0,0 +1,433 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * The state of the items of the ring, stored in parallel primitive arrays indexed by slot, free of any Android dependency. Each item view known by the
+ * carousel holds a slot, which it keeps while it is detached, until it is released: the slots are then reused. The positions of all the attached items
+ * are updated by a single loop over the arrays, without touching the views.
+ */
+public final class ItemStates
+{
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The number of slots ever allocated, released ones included
+   */
+  private int slotCount;
+
+  /**
+   * The released slots, reused by the next allocations
+   */
+  private int[] freeSlots = new int[ItemStates.INITIAL_CAPACITY];
+
+  private int freeSlotCount;
+
+  /**
+   * The position of the item of each slot in the adapter
+   */
+  private int[] positions = new int[ItemStates.INITIAL_CAPACITY];
+
+  private int[] widths = new int[ItemStates.INITIAL_CAPACITY];
+
+  /**
+   * The version of the ring the angle and the coordinates of each slot have been computed for
+   */
+  private int[] ringVersions = new int[ItemStates.INITIAL_CAPACITY];
+
+  private float[] angles = new float[ItemStates.INITIAL_CAPACITY];
+
+  /**
+   * While the items move to the slots of a new distribution of the ring, the angle between each item and its slot when the move started
+   */
+  private float[] transitionAngles = new float[ItemStates.INITIAL_CAPACITY];
+
+  private float[] x = new float[ItemStates.INITIAL_CAPACITY];
+
+  private float[] y = new float[ItemStates.INITIAL_CAPACITY];
+
+  private float[] z = new float[ItemStates.INITIAL_CAPACITY];
+
+  private boolean[] attached = new boolean[ItemStates.INITIAL_CAPACITY];
+
+  private boolean[] drawn = new boolean[ItemStates.INITIAL_CAPACITY];
+
+  /**
+   * True if the coordinates of the item of each slot changed since its matrix has been computed
+   */
+  private boolean[] matrixDirty = new boolean[ItemStates.INITIAL_CAPACITY];
+
+  /**
+   * The matrix of each slot, see {@link Projection}
+   */
+  private float[] matrices = new float[ItemStates.INITIAL_CAPACITY * Projection.MATRIX_SIZE];
+
+  /**
+   * The bounds of the item of each slot projected on the screen through its matrix, see {@link HitTester}
+   */
+  private float[] quads = new float[ItemStates.INITIAL_CAPACITY * HitTester.QUAD_SIZE];
+
+  /**
+   * The version of the ring all the attached slots are up to date with, or -1 if a slot may be stale
+   */
+  private int updatedRingVersion = -1;
+
+  /**
+   * Receives the coordinates computed by the ring math
+   */
+  private final float[] position3D = new float[3];
+
+  /**
+   * @return A slot for a new item, detached and whose matrix has to be computed
+   */
+  public int allocate()
+  {
+    final int slot;
+
+    if (freeSlotCount > 0)
+    {
+      slot = freeSlots[--freeSlotCount];
+    }
+    else
+    {
+      if (slotCount == positions.length)
+      {
+        grow(slotCount * 2);
+      }
+
+      slot = slotCount++;
+    }
+
+    positions[slot] = 0;
+    widths[slot] = 0;
+    ringVersions[slot] = -1;
+    angles[slot] = 0.0f;
+    transitionAngles[slot] = 0.0f;
+    x[slot] = 0.0f;
+    y[slot] = 0.0f;
+    z[slot] = 0.0f;
+    attached[slot] = false;
+    drawn[slot] = false;
+    matrixDirty[slot] = true;
+    return slot;
+  }
+
+  /**
+   * Gives a slot back, so it can be reused by another item.
+   */
+  public void release(int slot)
+  {
+    attached[slot] = false;
+
+    if (freeSlotCount == freeSlots.length)
+    {
+      final int[] freeSlots = new int[freeSlotCount * 2];
+      System.arraycopy(this.freeSlots, 0, freeSlots, 0, freeSlotCount);
+      this.freeSlots = freeSlots;
+    }
+
+    freeSlots[freeSlotCount++] = slot;
+  }
+
+  /**
+   * Releases all the slots.
+   */
+  public void clear()
+  {
+    slotCount = 0;
+    freeSlotCount = 0;
+    updatedRingVersion = -1;
+  }
+
+  /**
+   * @return The number of slots ever allocated since the last {@link #clear()}, released ones included
+   */
+  public int getSlotCount()
+  {
+    return slotCount;
+  }
+
+  private void grow(int capacity)
+  {
+    positions = ItemStates.copyOf(positions, capacity);
+    widths = ItemStates.copyOf(widths, capacity);
+    ringVersions = ItemStates.copyOf(ringVersions, capacity);
+    angles = ItemStates.copyOf(angles, capacity);
+    transitionAngles = ItemStates.copyOf(transitionAngles, capacity);
+    x = ItemStates.copyOf(x, capacity);
+    y = ItemStates.copyOf(y, capacity);
+    z = ItemStates.copyOf(z, capacity);
+    attached = ItemStates.copyOf(attached, capacity);
+    drawn = ItemStates.copyOf(drawn, capacity);
+    matrixDirty = ItemStates.copyOf(matrixDirty, capacity);
+    matrices = ItemStates.copyOf(matrices, capacity * Projection.MATRIX_SIZE);
+    quads = ItemStates.copyOf(quads, capacity * HitTester.QUAD_SIZE);
+  }
+
+  /**
+   * Updates the angle and the 3D position of every attached item which has not been computed for the given version of the ring. Nothing is done if
+   * the attached items are already up to date, so this can be called for each item drawn.
+   *
+   * @param geometry           The ring math, sized for the carousel
+   * @param ringAngle          The angle of the item at position 0, in degrees
+   * @param count              The number of items of the ring
+   * @param ringVersion        The version of the ring
+   * @param transitionFraction The part, in [0, 1], of the transition angles the items still have to cover, or 0 if no transition is running
+   */
+  public void updatePositions(RingGeometry geometry, float ringAngle, int count, int ringVersion, float transitionFraction)
+  {
+    if (updatedRingVersion == ringVersion)
+    {
+      return;
+    }
+
+    for (int slot = 0; slot < slotCount; slot++)
+    {
+      if (attached[slot] == true && ringVersions[slot] != ringVersion)
+      {
+        updatePosition(slot, geometry, ringAngle, count, ringVersion, transitionFraction);
+      }
+    }
+
+    updatedRingVersion = ringVersion;
+  }
+
+  /**
+   * Updates the angle and the 3D position of the item of a slot.
+   *
+   * @see #updatePositions(RingGeometry, float, int, int, float)
+   */
+  public void updatePosition(int slot, RingGeometry geometry, float ringAngle, int count, int ringVersion, float transitionFraction)
+  {
+    final int position = positions[slot];
+    float angle = RingGeometry.getAngle(ringAngle, position, count);
+
+    if (transitionFraction > 0.0f && transitionAngles[slot] != 0.0f)
+    {
+      // The item is still on its way to its slot
+      angle = RingGeometry.normalizeAngle(angle + transitionAngles[slot] * transitionFraction);
+      geometry.computePositionAtAngle(angle, widths[slot], position3D, 0);
+    }
+    else
+    {
+      geometry.computePosition(position, angle, widths[slot], position3D, 0);
+    }
+
+    angles[slot] = angle;
+    setX(slot, position3D[0]);
+    setY(slot, position3D[1]);
+    setZ(slot, position3D[2]);
+    ringVersions[slot] = ringVersion;
+  }
+
+  public int getPosition(int slot)
+  {
+    return positions[slot];
+  }
+
+  public void setPosition(int slot, int position)
+  {
+    positions[slot] = position;
+  }
+
+  public int getWidth(int slot)
+  {
+    return widths[slot];
+  }
+
+  public void setWidth(int slot, int width)
+  {
+    widths[slot] = width;
+  }
+
+  public int getRingVersion(int slot)
+  {
+    return ringVersions[slot];
+  }
+
+  public void setRingVersion(int slot, int ringVersion)
+  {
+    ringVersions[slot] = ringVersion;
+
+    if (attached[slot] == true && ringVersion != updatedRingVersion)
+    {
+      updatedRingVersion = -1;
+    }
+  }
+
+  public float getAngle(int slot)
+  {
+    return angles[slot];
+  }
+
+  public void setAngle(int slot, float angle)
+  {
+    angles[slot] = angle;
+  }
+
+  public float getTransitionAngle(int slot)
+  {
+    return transitionAngles[slot];
+  }
+
+  public void setTransitionAngle(int slot, float transitionAngle)
+  {
+    transitionAngles[slot] = transitionAngle;
+  }
+
+  public float getX(int slot)
+  {
+    return x[slot];
+  }
+
+  public void setX(int slot, float x)
+  {
+    if (this.x[slot] != x)
+    {
+      this.x[slot] = x;
+      matrixDirty[slot] = true;
+    }
+  }
+
+  public float getY(int slot)
+  {
+    return y[slot];
+  }
+
+  public void setY(int slot, float y)
+  {
+    if (this.y[slot] != y)
+    {
+      this.y[slot] = y;
+      matrixDirty[slot] = true;
+    }
+  }
+
+  public float getZ(int slot)
+  {
+    return z[slot];
+  }
+
+  public void setZ(int slot, float z)
+  {
+    if (this.z[slot] != z)
+    {
+      this.z[slot] = z;
+      matrixDirty[slot] = true;
+    }
+  }
+
+  public boolean isAttached(int slot)
+  {
+    return attached[slot];
+  }
+
+  /**
+   * Only the positions of the attached items are updated by {@link #updatePositions(RingGeometry, float, int, int, float)}.
+   */
+  public void setAttached(int slot, boolean attached)
+  {
+    this.attached[slot] = attached;
+
+    if (attached == true && ringVersions[slot] != updatedRingVersion)
+    {
+      updatedRingVersion = -1;
+    }
+  }
+
+  public boolean isDrawn(int slot)
+  {
+    return drawn[slot];
+  }
+
+  public void setDrawn(int slot, boolean drawn)
+  {
+    this.drawn[slot] = drawn;
+  }
+
+  /**
+   * @return True if the matrix of the slot has to be computed again before the item is drawn
+   */
+  public boolean isMatrixDirty(int slot)
+  {
+    return matrixDirty[slot];
+  }
+
+  /**
+   * Forces the matrix of the slot to be computed again, for instance when the size of the carousel or the bounds of the item changed.
+   */
+  public void invalidateMatrix(int slot)
+  {
+    matrixDirty[slot] = true;
+  }
+
+  /**
+   * Computes the matrix of the item of a slot from its 3D position, and projects its bounds through it.
+   *
+   * @param centerX The x coordinate of the center of the carousel, in the coordinates of the item
+   * @param centerY The y coordinate of the center of the carousel, in the coordinates of the item
+   * @param left    The left of the item in the carousel
+   * @param top     The top of the item in the carousel
+   * @param width   The width of the item
+   * @param height  The height of the item
+   */
+  public void computeMatrix(int slot, float centerX, float centerY, float left, float top, float width, float height)
+  {
+    final int matrixOffset = slot * Projection.MATRIX_SIZE;
+    final int quadOffset = slot * HitTester.QUAD_SIZE;
+
+    Projection.computeMatrix(x[slot], y[slot], z[slot], centerX, centerY, matrices, matrixOffset);
+    HitTester.projectRect(matrices, matrixOffset, 0.0f, 0.0f, width, height, quads, quadOffset);
+
+    // The matrix applies in the coordinates of the item
+    for (int i = quadOffset; i < quadOffset + HitTester.QUAD_SIZE; i += 2)
+    {
+      quads[i] += left;
+      quads[i + 1] += top;
+    }
+
+    matrixDirty[slot] = false;
+  }
+
+  /**
+   * Copies the matrix of a slot.
+   *
+   * @param out Receives the {@link Projection#MATRIX_SIZE} values of the matrix, from index 0
+   */
+  public void getMatrix(int slot, float[] out)
+  {
+    System.arraycopy(matrices, slot * Projection.MATRIX_SIZE, out, 0, Projection.MATRIX_SIZE);
+  }
+
+  /**
+   * @return The projected quads, {@link HitTester#QUAD_SIZE} values per slot
+   */
+  public float[] getQuads()
+  {
+    return quads;
+  }
+
+  private static int[] copyOf(int[] array, int length)
+  {
+    final int[] copy = new int[length];
+    System.arraycopy(array, 0, copy, 0, array.length);
+    return copy;
+  }
+
+  private static float[] copyOf(float[] array, int length)
+  {
+    final float[] copy = new float[length];
+    System.arraycopy(array, 0, copy, 0, array.length);
+    return copy;
+  }
+
+  private static boolean[] copyOf(boolean[] array, int length)
+  {
+    final boolean[] copy = new boolean[length];
+    System.arraycopy(array, 0, copy, 0, array.length);
+    return copy;
+  }
+
+}
@@ -0,0 +1,40 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Covers the angle at a constant velocity over the requested duration.
+ */
+public final class LinearMotion
+    implements Motion
+{
+
+  private static final double NANOS_PER_SECOND = 1000000000.0;
+
+  private float deltaAngle;
+
+  private long durationNanos;
+
+  @Override
+  public long start(float deltaAngle, float velocity, long durationNanos)
+  {
+    this.deltaAngle = deltaAngle;
+    this.durationNanos = Math.max(1L, durationNanos);
+
+    return this.durationNanos;
+  }
+
+  @Override
+  public float getAngle(long elapsedNanos)
+  {
+    return (float) ((double) deltaAngle * elapsedNanos / durationNanos);
+  }
+
+  @Override
+  public float getVelocity(long elapsedNanos)
+  {
+    return (float) (deltaAngle * LinearMotion.NANOS_PER_SECOND / durationNanos);
+  }
+
+}
@@ -0,0 +1,396 @@
+package fr.rolandl.carousel.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Computes the shortest sequence of removals and insertions turning a list into another one, with the linear space variant of the Myers algorithm, in
+ * O((N + M) D) time where D is the number of removed and inserted items: a few changes in a long list are found in almost linear time. The items
+ * matched by the two lists and whose content differs are reported as changed. An item which moved is reported as removed then inserted.
+ * <p/>
+ * The updates are dispatched from the end of the lists to their beginning, so the position of each update is the one of the list as modified by the
+ * previous updates, as expected by the fine-grained notifications of an adapter.
+ */
+public final class ListDiff
+{
+
+  /**
+   * Tells whether two items represent the same business object, and whether its content changed
+   */
+  public interface ItemCallback<T>
+  {
+
+    /**
+     * @return True if the two items represent the same business object, typically because they have the same identifier
+     */
+    boolean areItemsTheSame(T oldItem, T newItem);
+
+    /**
+     * Only called for the items which are the same, see {@link #areItemsTheSame(Object, Object)}.
+     *
+     * @return True if the item does not have to be bound again
+     */
+    boolean areContentsTheSame(T oldItem, T newItem);
+
+  }
+
+  /**
+   * Receives the updates turning the old list into the new one
+   */
+  public interface ListUpdateCallback
+  {
+
+    void onInserted(int position, int count);
+
+    void onRemoved(int position, int count);
+
+    void onMoved(int fromPosition, int toPosition);
+
+    void onChanged(int position, int count);
+
+  }
+
+  /**
+   * A run of items matched by the two lists
+   */
+  private static final class Diagonal
+  {
+
+    private final int x;
+
+    private final int y;
+
+    private final int size;
+
+    private Diagonal(int x, int y, int size)
+    {
+      this.x = x;
+      this.y = y;
+      this.size = size;
+    }
+
+  }
+
+  /**
+   * The middle snake of a range, found by the forward and the backward searches
+   */
+  private static final class Snake
+  {
+
+    private final int startX;
+
+    private final int startY;
+
+    private final int endX;
+
+    private final int endY;
+
+    private final boolean reverse;
+
+    private Snake(int startX, int startY, int endX, int endY, boolean reverse)
+    {
+      this.startX = startX;
+      this.startY = startY;
+      this.endX = endX;
+      this.endY = endY;
+      this.reverse = reverse;
+    }
+
+    private Diagonal toDiagonal()
+    {
+      final int size = Math.min(endX - startX, endY - startY);
+
+      if (endY - startY == endX - startX)
+      {
+        return new Diagonal(startX, startY, size);
+      }
+
+      // The snake starts or ends with a removal or an insertion, which is not part of the diagonal
+      if (reverse == true)
+      {
+        return new Diagonal(startX, startY, size);
+      }
+
+      return endY - startY > endX - startX ? new Diagonal(startX, startY + 1, size) : new Diagonal(startX + 1, startY, size);
+    }
+
+  }
+
+  /**
+   * The parts of the two lists which remain to be compared
+   */
+  private static final class Range
+  {
+
+    private final int oldStart;
+
+    private final int oldEnd;
+
+    private final int newStart;
+
+    private final int newEnd;
+
+    private Range(int oldStart, int oldEnd, int newStart, int newEnd)
+    {
+      this.oldStart = oldStart;
+      this.oldEnd = oldEnd;
+      this.newStart = newStart;
+      this.newEnd = newEnd;
+    }
+
+    private int oldSize()
+    {
+      return oldEnd - oldStart;
+    }
+
+    private int newSize()
+    {
+      return newEnd - newStart;
+    }
+
+  }
+
+  private static final Comparator<Diagonal> DIAGONAL_COMPARATOR = new Comparator<Diagonal>()
+  {
+    @Override
+    public int compare(Diagonal lhs, Diagonal rhs)
+    {
+      return lhs.x - rhs.x;
+    }
+  };
+
+  private ListDiff()
+  {
+  }
+
+  /**
+   * Computes the updates turning the old list into the new one, and dispatches them.
+   *
+   * @param oldList  The list before the updates
+   * @param newList  The list after the updates, which must not be the old list: a list modified in place has lost its old items
+   * @param callback Compares the items of the two lists
+   * @param updates  Receives the updates
+   */
+  public static <T> void dispatch(List<T> oldList, List<T> newList, ListDiff.ItemCallback<T> callback, ListDiff.ListUpdateCallback updates)
+  {
+    if (oldList == newList)
+    {
+      throw new IllegalArgumentException("The new list must not be the old list");
+    }
+
+    final List<Diagonal> diagonals = ListDiff.computeDiagonals(oldList, newList, callback);
+    int oldPosition = oldList.size();
+    int newPosition = newList.size();
+
+    // The updates are dispatched backwards, so the positions before the current one are still the ones of the old list
+    for (int i = diagonals.size() - 1; i >= 0; i--)
+    {
+      final Diagonal diagonal = diagonals.get(i);
+      final int oldEnd = diagonal.x + diagonal.size;
+      final int newEnd = diagonal.y + diagonal.size;
+
+      if (oldPosition > oldEnd)
+      {
+        updates.onRemoved(oldEnd, oldPosition - oldEnd);
+      }
+
+      if (newPosition > newEnd)
+      {
+        updates.onInserted(oldEnd, newPosition - newEnd);
+      }
+
+      for (int j = diagonal.size - 1; j >= 0; j--)
+      {
+        if (callback.areContentsTheSame(oldList.get(diagonal.x + j), newList.get(diagonal.y + j)) == false)
+        {
+          updates.onChanged(diagonal.x + j, 1);
+        }
+      }
+
+      oldPosition = diagonal.x;
+      newPosition = diagonal.y;
+    }
+  }
+
+  /**
+   * @return The runs of matched items, sorted by position and framed by two empty runs at the beginning and at the end of the lists
+   */
+  private static <T> List<Diagonal> computeDiagonals(List<T> oldList, List<T> newList, ListDiff.ItemCallback<T> callback)
+  {
+    final int oldSize = oldList.size();
+    final int newSize = newList.size();
+    final List<Diagonal> diagonals = new ArrayList<>();
+    final List<Range> stack = new ArrayList<>();
+
+    stack.add(new Range(0, oldSize, 0, newSize));
+
+    // The furthest x reached on each diagonal k, centered on max
+    final int max = (oldSize + newSize + 1) / 2;
+    final int[] forward = new int[max * 2 + 2];
+    final int[] backward = new int[max * 2 + 2];
+
+    while (stack.isEmpty() == false)
+    {
+      final Range range = stack.remove(stack.size() - 1);
+      final Snake snake = ListDiff.findMiddleSnake(oldList, newList, callback, range, forward, backward, max);
+
+      // Without a snake, the range only holds removals or only insertions
+      if (snake != null)
+      {
+        final Diagonal diagonal = snake.toDiagonal();
+
+        if (diagonal.size > 0)
+        {
+          diagonals.add(diagonal);
+        }
+
+        stack.add(new Range(range.oldStart, snake.startX, range.newStart, snake.startY));
+        stack.add(new Range(snake.endX, range.oldEnd, snake.endY, range.newEnd));
+      }
+    }
+
+    Collections.sort(diagonals, ListDiff.DIAGONAL_COMPARATOR);
+
+    if (diagonals.isEmpty() == true || diagonals.get(0).x != 0 || diagonals.get(0).y != 0)
+    {
+      diagonals.add(0, new Diagonal(0, 0, 0));
+    }
+
+    diagonals.add(new Diagonal(oldSize, newSize, 0));
+    return diagonals;
+  }
+
+  private static <T> Snake findMiddleSnake(List<T> oldList, List<T> newList, ListDiff.ItemCallback<T> callback, Range range, int[] forward,
+      int[] backward, int center)
+  {
+    if (range.oldSize() < 1 || range.newSize() < 1)
+    {
+      return null;
+    }
+
+    final int max = (range.oldSize() + range.newSize() + 1) / 2;
+    forward[center + 1] = range.oldStart;
+    backward[center + 1] = range.oldEnd;
+
+    for (int d = 0; d < max; d++)
+    {
+      Snake snake = ListDiff.searchForward(oldList, newList, callback, range, forward, backward, center, d);
+
+      if (snake != null)
+      {
+        return snake;
+      }
+
+      snake = ListDiff.searchBackward(oldList, newList, callback, range, forward, backward, center, d);
+
+      if (snake != null)
+      {
+        return snake;
+      }
+    }
+
+    return null;
+  }
+
+  private static <T> Snake searchForward(List<T> oldList, List<T> newList, ListDiff.ItemCallback<T> callback, Range range, int[] forward,
+      int[] backward, int center, int d)
+  {
+    final int delta = range.oldSize() - range.newSize();
+    final boolean checkOverlap = Math.abs(delta) % 2 == 1;
+
+    for (int k = -d; k <= d; k += 2)
+    {
+      final int startX;
+      int x;
+
+      if (k == -d || (k != d && forward[center + k + 1] > forward[center + k - 1]))
+      {
+        // Move down: an insertion
+        x = startX = forward[center + k + 1];
+      }
+      else
+      {
+        // Move right: a removal
+        startX = forward[center + k - 1];
+        x = startX + 1;
+      }
+
+      int y = range.newStart + (x - range.oldStart) - k;
+      final int startY = (d == 0 || x != startX) ? y : y - 1;
+
+      while (x < range.oldEnd && y < range.newEnd && callback.areItemsTheSame(oldList.get(x), newList.get(y)) == true)
+      {
+        x++;
+        y++;
+      }
+
+      forward[center + k] = x;
+
+      if (checkOverlap == true)
+      {
+        final int backwardK = delta - k;
+
+        if (backwardK >= -d + 1 && backwardK <= d - 1 && backward[center + backwardK] <= x)
+        {
+          return new Snake(startX, startY, x, y, false);
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private static <T> Snake searchBackward(List<T> oldList, List<T> newList, ListDiff.ItemCallback<T> callback, Range range, int[] forward,
+      int[] backward, int center, int d)
+  {
+    final int delta = range.oldSize() - range.newSize();
+    final boolean checkOverlap = delta % 2 == 0;
+
+    for (int k = -d; k <= d; k += 2)
+    {
+      final int startX;
+      int x;
+
+      if (k == -d || (k != d && backward[center + k + 1] < backward[center + k - 1]))
+      {
+        // Move up: an insertion
+        x = startX = backward[center + k + 1];
+      }
+      else
+      {
+        // Move left: a removal
+        startX = backward[center + k - 1];
+        x = startX - 1;
+      }
+
+      int y = range.newEnd - ((range.oldEnd - x) - k);
+      final int startY = (d == 0 || x != startX) ? y : y + 1;
+
+      while (x > range.oldStart && y > range.newStart && callback.areItemsTheSame(oldList.get(x - 1), newList.get(y - 1)) == true)
+      {
+        x--;
+        y--;
+      }
+
+      backward[center + k] = x;
+
+      if (checkOverlap == true)
+      {
+        final int forwardK = delta - k;
+
+        if (forwardK >= -d && forwardK <= d && forward[center + forwardK] >= x)
+        {
+          return new Snake(x, y, startX, startY, true);
+        }
+      }
+    }
+
+    return null;
+  }
+
+}
@@ -0,0 +1,86 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Reads the sine and the cosine from a precomputed table of sines, with a linear interpolation between two entries. With the default size, the error
+ * is below 1e-6.
+ */
+public final class LookupTableTrigonometry
+    implements Trigonometry
+{
+
+  /**
+   * The default number of entries of the table for a whole turn
+   */
+  public static final int DEFAULT_SIZE = 4096;
+
+  private final float[] table;
+
+  private final int size;
+
+  private final float entriesPerDegree;
+
+  public LookupTableTrigonometry()
+  {
+    this(LookupTableTrigonometry.DEFAULT_SIZE);
+  }
+
+  /**
+   * @param size The number of entries of the table for a whole turn
+   */
+  public LookupTableTrigonometry(int size)
+  {
+    if (size < 4)
+    {
+      throw new IllegalArgumentException("The table must have at least 4 entries");
+    }
+
+    this.size = size;
+    entriesPerDegree = size / 360.0f;
+
+    // The extra entry avoids wrapping the index when interpolating the last one
+    table = new float[size + 1];
+
+    for (int i = 0; i <= size; i++)
+    {
+      table[i] = (float) Math.sin(2.0 * Math.PI * i / size);
+    }
+  }
+
+  @Override
+  public void setRing(float ringAngle, int count)
+  {
+  }
+
+  @Override
+  public void rotate(float deltaAngle, float ringAngle)
+  {
+  }
+
+  @Override
+  public void sinCos(int position, float angle, float[] out, int offset)
+  {
+    out[offset] = sin(angle);
+    out[offset + 1] = sin(angle < 270.0f ? angle + 90.0f : angle - 270.0f);
+  }
+
+  /**
+   * @param angle An angle, in degrees, in [0, 360[
+   */
+  private float sin(float angle)
+  {
+    final float index = angle * entriesPerDegree;
+    int i = (int) index;
+
+    if (i >= size)
+    {
+      i = size - 1;
+    }
+
+    final float before = table[i];
+    return before + (table[i + 1] - before) * (index - i);
+  }
+
+}
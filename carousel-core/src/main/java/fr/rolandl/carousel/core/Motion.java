@@ -0,0 +1,39 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Tells how a rotation of the ring covers its angle over time: an interpolation over a requested duration, or a physical model which decides the
+ * duration itself. An implementation is prepared once per rotation, then evaluated on each frame with the time elapsed since the start of the
+ * rotation, in nanoseconds: the evaluation must not allocate.
+ * <p/>
+ * An implementation holds the state of the rotation it has been prepared for, so an instance drives a single rotation at a time: it must not be
+ * shared between several rotations, for instance between two carousels.
+ */
+public interface Motion
+{
+
+  /**
+   * Prepares a rotation.
+   *
+   * @param deltaAngle    The angle to cover, in degrees
+   * @param velocity      The angular velocity of the ring when the rotation starts, in degrees per second, which the physical models continue from
+   * @param durationNanos The requested duration, in nanoseconds
+   * @return The duration of the rotation, in nanoseconds
+   */
+  long start(float deltaAngle, float velocity, long durationNanos);
+
+  /**
+   * @param elapsedNanos The time elapsed since the start of the rotation, in nanoseconds, lower than its duration
+   * @return The angle covered, in degrees
+   */
+  float getAngle(long elapsedNanos);
+
+  /**
+   * @param elapsedNanos The time elapsed since the start of the rotation, in nanoseconds, lower than its duration
+   * @return The angular velocity, in degrees per second
+   */
+  float getVelocity(long elapsedNanos);
+
+}
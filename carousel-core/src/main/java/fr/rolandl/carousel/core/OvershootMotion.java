@@ -0,0 +1,68 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Covers the angle over the requested duration, goes a little past it, then comes back, like {@code android.view.animation.OvershootInterpolator}:
+ * the covered fraction is (t - 1)^2 * ((tension + 1) * (t - 1) + tension) + 1.
+ */
+public final class OvershootMotion
+    implements Motion
+{
+
+  public static final float DEFAULT_TENSION = 2.0f;
+
+  private static final double NANOS_PER_SECOND = 1000000000.0;
+
+  private final double tension;
+
+  private float deltaAngle;
+
+  private long durationNanos;
+
+  public OvershootMotion()
+  {
+    this(OvershootMotion.DEFAULT_TENSION);
+  }
+
+  /**
+   * @param tension How far the rotation goes past its target, 0 for no overshoot
+   */
+  public OvershootMotion(float tension)
+  {
+    if (tension < 0.0f)
+    {
+      throw new IllegalArgumentException("The tension must be positive");
+    }
+
+    this.tension = tension;
+  }
+
+  @Override
+  public long start(float deltaAngle, float velocity, long durationNanos)
+  {
+    this.deltaAngle = deltaAngle;
+    this.durationNanos = Math.max(1L, durationNanos);
+
+    return this.durationNanos;
+  }
+
+  @Override
+  public float getAngle(long elapsedNanos)
+  {
+    final double u = (double) elapsedNanos / durationNanos - 1.0;
+
+    return (float) (deltaAngle * (u * u * ((tension + 1.0) * u + tension) + 1.0));
+  }
+
+  @Override
+  public float getVelocity(long elapsedNanos)
+  {
+    final double u = (double) elapsedNanos / durationNanos - 1.0;
+    final double derivative = 3.0 * (tension + 1.0) * u * u + 2.0 * tension * u;
+
+    return (float) (deltaAngle * derivative * OvershootMotion.NANOS_PER_SECOND / durationNanos);
+  }
+
+}
@@ -0,0 +1,64 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * The perspective of the carousel, free of any Android dependency. The items are seen as by an {@code android.graphics.Camera} at its default
+ * location, 576 pixels (8 inches at 72 pixels per inch) in front of the screen. An item translated to (x, y, z) stays parallel to the screen, so its
+ * projection has a closed form: a scale of 576 / (576 + z) around the center of the carousel, followed by the translation (x, -y) scaled the same way,
+ * the y axis of the camera pointing up. The matrices are stored 9 values per item, in the order of {@code android.graphics.Matrix#setValues(float[])}.
+ */
+public final class Projection
+{
+
+  /**
+   * The z coordinate of the camera, in pixels
+   */
+  public static final float CAMERA_LOCATION_Z = -576.0f;
+
+  /**
+   * The number of values of a matrix
+   */
+  public static final int MATRIX_SIZE = 9;
+
+  private Projection()
+  {
+  }
+
+  /**
+   * @param z The z coordinate of an item, which is farther from the camera as it grows
+   * @return The scale of an item at the given depth
+   */
+  public static float getScale(float z)
+  {
+    return -Projection.CAMERA_LOCATION_Z / (z - Projection.CAMERA_LOCATION_Z);
+  }
+
+  /**
+   * Computes the matrix the camera would give for an item translated to the given coordinates, once centered on the carousel.
+   *
+   * @param x       The x coordinate of the item
+   * @param y       The y coordinate of the item
+   * @param z       The z coordinate of the item
+   * @param centerX The x coordinate of the center of the carousel, in the coordinates of the item
+   * @param centerY The y coordinate of the center of the carousel, in the coordinates of the item
+   * @param out     Receives the matrix
+   * @param offset  The index of the first value of the matrix in out
+   */
+  public static void computeMatrix(float x, float y, float z, float centerX, float centerY, float[] out, int offset)
+  {
+    final float scale = Projection.getScale(z);
+
+    out[offset] = scale;
+    out[offset + 1] = 0.0f;
+    out[offset + 2] = centerX - centerX * scale + x * scale;
+    out[offset + 3] = 0.0f;
+    out[offset + 4] = scale;
+    out[offset + 5] = centerY - centerY * scale - y * scale;
+    out[offset + 6] = 0.0f;
+    out[offset + 7] = 0.0f;
+    out[offset + 8] = 1.0f;
+  }
+
+}
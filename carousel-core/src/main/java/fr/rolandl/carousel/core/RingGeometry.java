@@ -0,0 +1,395 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * The math of the carousel ring, free of any Android dependency. The items are evenly spaced on a ring whose diameter is the width of the carousel:
+ * the angle of every item is deduced from the angle of the item at position 0 (the ring angle), and the 3D position of an item only depends on its
+ * angle, the diameter of the ring and the size of the item.
+ */
+public final class RingGeometry
+{
+
+  /**
+   * The axe angle
+   */
+  public static final float THETA = (float) (15.0f * (Math.PI / 180.0));
+
+  static final float SIN_THETA = (float) Math.sin(RingGeometry.THETA);
+
+  private int diameter;
+
+  private int height;
+
+  private Trigonometry trigonometry = new ExactTrigonometry();
+
+  /**
+   * If not null, the positions are read from this cache instead of being computed
+   */
+  private TransformCache transformCache;
+
+  /**
+   * Computes the angles of the items which are not in the slot of their position
+   */
+  private final Trigonometry exactTrigonometry = new ExactTrigonometry();
+
+  /**
+   * Receives the sine and the cosine of the angle of an item
+   */
+  private final float[] sinCos = new float[2];
+
+  /**
+   * Receives the positions read from the transform cache
+   */
+  private final float[] position3D = new float[3];
+
+  /**
+   * Sets the size of the ring.
+   *
+   * @param diameter The diameter of the ring, which is the width of the carousel
+   * @param height   The height of the carousel
+   */
+  public void setSize(int diameter, int height)
+  {
+    this.diameter = diameter;
+    this.height = height;
+
+    if (transformCache != null)
+    {
+      transformCache.setSize(diameter, height);
+    }
+  }
+
+  public int getDiameter()
+  {
+    return diameter;
+  }
+
+  public int getHeight()
+  {
+    return height;
+  }
+
+  /**
+   * Sets how the sine and the cosine of the items angles are computed. {@link #setRing(float, int)} has to be called afterwards.
+   */
+  public void setTrigonometry(Trigonometry trigonometry)
+  {
+    this.trigonometry = trigonometry;
+  }
+
+  public Trigonometry getTrigonometry()
+  {
+    return trigonometry;
+  }
+
+  /**
+   * Sets the cache the positions of the items are read from, whatever the trigonometry of the ring.
+   *
+   * @param transformCache The cache, or null to compute every position
+   */
+  public void setTransformCache(TransformCache transformCache)
+  {
+    this.transformCache = transformCache;
+
+    if (transformCache != null)
+    {
+      transformCache.setSize(diameter, height);
+    }
+  }
+
+  public TransformCache getTransformCache()
+  {
+    return transformCache;
+  }
+
+  /**
+   * Has to be called when the ring is laid out, or when the number of items changed.
+   *
+   * @param ringAngle The angle of the item at position 0, in degrees
+   * @param count     The number of items of the ring
+   */
+  public void setRing(float ringAngle, int count)
+  {
+    trigonometry.setRing(ringAngle, count);
+  }
+
+  /**
+   * Has to be called when the ring rotates.
+   *
+   * @param deltaAngle The rotation, in degrees
+   * @param ringAngle  The new angle of the item at position 0, in degrees
+   */
+  public void rotate(float deltaAngle, float ringAngle)
+  {
+    trigonometry.rotate(deltaAngle, ringAngle);
+  }
+
+  /**
+   * Computes the 3D position of an item.
+   *
+   * @param position  The position of the item
+   * @param angle     The angle of the item, in degrees, in [0, 360[
+   * @param itemWidth The width of the item
+   * @param out       Receives the x, y and z coordinates of the item, from the given offset
+   * @param offset    The index of the x coordinate in out
+   */
+  public void computePosition(int position, float angle, int itemWidth, float[] out, int offset)
+  {
+    if (transformCache != null)
+    {
+      transformCache.computePosition(angle, itemWidth, out, offset);
+      return;
+    }
+
+    trigonometry.sinCos(position, angle, sinCos, 0);
+    computePosition(itemWidth, out, offset);
+  }
+
+  /**
+   * Computes the 3D position of an item which is not in the slot of its position, for instance while the items move to the slots of a new
+   * distribution: the angle is always used, whatever the trigonometry of the ring.
+   *
+   * @param angle     The angle of the item, in degrees, in [0, 360[
+   * @param itemWidth The width of the item
+   * @param out       Receives the x, y and z coordinates of the item, from the given offset
+   * @param offset    The index of the x coordinate in out
+   */
+  public void computePositionAtAngle(float angle, int itemWidth, float[] out, int offset)
+  {
+    if (transformCache != null)
+    {
+      transformCache.computePosition(angle, itemWidth, out, offset);
+      return;
+    }
+
+    exactTrigonometry.sinCos(-1, angle, sinCos, 0);
+    computePosition(itemWidth, out, offset);
+  }
+
+  /**
+   * Computes the 3D position of an item from the sine and the cosine of its angle
+   */
+  private void computePosition(int itemWidth, float[] out, int offset)
+  {
+    final float z = diameter / 2 * (1.0f - sinCos[1]);
+
+    out[offset] = -(diameter / 2 * sinCos[0]) + diameter / 2 - itemWidth / 2;
+    out[offset + 1] = -height / 2 + z * RingGeometry.SIN_THETA;
+    out[offset + 2] = z;
+  }
+
+  /**
+   * Computes the 3D position of several items of the ring.
+   *
+   * @param ringAngle  The angle of the item at position 0, in degrees
+   * @param count      The number of items of the ring
+   * @param positions  The positions of the items to compute
+   * @param itemWidths The width of each item
+   * @param length     The number of items to compute
+   * @param outX       Receives the x coordinate of each item
+   * @param outY       Receives the y coordinate of each item
+   * @param outZ       Receives the z coordinate of each item
+   */
+  public void computePositions(float ringAngle, int count, int[] positions, int[] itemWidths, int length, float[] outX, float[] outY, float[] outZ)
+  {
+    final float halfDiameter = diameter / 2;
+    final float halfHeight = -height / 2;
+
+    final Trigonometry trigonometry = this.trigonometry;
+    final float[] sinCos = this.sinCos;
+
+    if (transformCache != null)
+    {
+      for (int i = 0; i < length; i++)
+      {
+        transformCache.computePosition(RingGeometry.getAngle(ringAngle, positions[i], count), itemWidths[i], position3D, 0);
+        outX[i] = position3D[0];
+        outY[i] = position3D[1];
+        outZ[i] = position3D[2];
+      }
+
+      return;
+    }
+
+    for (int i = 0; i < length; i++)
+    {
+      trigonometry.sinCos(positions[i], RingGeometry.getAngle(ringAngle, positions[i], count), sinCos, 0);
+
+      final float z = halfDiameter * (1.0f - sinCos[1]);
+
+      outX[i] = -(halfDiameter * sinCos[0]) + halfDiameter - itemWidths[i] / 2;
+      outY[i] = halfHeight + z * RingGeometry.SIN_THETA;
+      outZ[i] = z;
+    }
+  }
+
+  /**
+   * @return The given angle, brought back in [0, 360[
+   */
+  public static float normalizeAngle(float angle)
+  {
+    angle %= 360.0f;
+    return angle < 0.0f ? angle + 360.0f : angle;
+  }
+
+  /**
+   * @param ringAngle The angle of the item at position 0, in degrees
+   * @param position  The position of the item
+   * @param count     The number of items of the ring
+   * @return The angle, in [0, 360[, of the item at the given position
+   */
+  public static float getAngle(float ringAngle, int position, int count)
+  {
+    return RingGeometry.normalizeAngle(ringAngle + position * 360.0f / count);
+  }
+
+  /**
+   * @return The shortest rotation, in ]-180, 180], bringing the second angle to the first one
+   */
+  public static float getShortestRotation(float toAngle, float fromAngle)
+  {
+    final float rotation = RingGeometry.normalizeAngle(toAngle - fromAngle);
+
+    return rotation > 180.0f ? rotation - 360.0f : rotation;
+  }
+
+  /**
+   * @return The angular distance, in [0, 180], between the given angle and the front of the ring
+   */
+  public static float getDistanceToFront(float angle)
+  {
+    return angle > 180.0f ? 360.0f - angle : angle;
+  }
+
+  /**
+   * @param ringAngle The angle of the item at position 0, in degrees
+   * @param count     The number of items of the ring
+   * @return The position of the item which is the nearest to the 0 degrees angle
+   */
+  public static int getFrontPosition(float ringAngle, int count)
+  {
+    final int position = Math.round(RingGeometry.normalizeAngle(-ringAngle) * count / 360.0f);
+
+    return position >= count ? position - count : position;
+  }
+
+  /**
+   * Looks for the item whose angle is the nearest to the 0 degrees angle. The items are evenly spaced, so it is the slot the ring angle is the
+   * nearest to: it does not depend on the number of items.
+   *
+   * @param ringAngle The angle of the item at position 0, in degrees
+   * @param count     The number of items of the ring
+   * @return The position of the nearest item, or -1 if the ring is empty
+   */
+  public static int getNearestToFront(float ringAngle, int count)
+  {
+    if (count <= 0)
+    {
+      return -1;
+    }
+
+    final float snappedRingAngle = RingGeometry.normalizeAngle(ringAngle + RingGeometry.getSnapRotation(ringAngle, count));
+
+    return RingGeometry.getFrontPosition(snappedRingAngle, count);
+  }
+
+  /**
+   * Computes the rotation bringing the item the nearest to the front of the ring exactly to the 0 degrees angle. The rotation is computed in double
+   * precision from the offset of the ring angle in its slot, so it stays accurate to a fraction of a degree whatever the number of items.
+   *
+   * @param ringAngle The angle of the item at position 0, in degrees
+   * @param count     The number of items of the ring
+   * @return The rotation, in degrees, in ]-180 / count, 180 / count], or 0 if the ring is empty
+   */
+  public static float getSnapRotation(float ringAngle, int count)
+  {
+    if (count <= 0)
+    {
+      return 0.0f;
+    }
+
+    final double angleUnit = 360.0 / count;
+    double offset = ringAngle % angleUnit;
+
+    if (offset < 0.0)
+    {
+      offset += angleUnit;
+    }
+
+    return (float) (offset * 2.0 <= angleUnit ? -offset : angleUnit - offset);
+  }
+
+  /**
+   * Chooses the slot a fling rests on: the one the nearest to where a free fling would stop, and at least the next one in the direction of the fling,
+   * so any fling moves the ring by one item.
+   *
+   * @param ringAngle        The angle of the item at position 0, in degrees
+   * @param count            The number of items of the ring
+   * @param naturalRotation  The rotation, in degrees, of a free fling until it stops
+   * @return The rotation bringing the chosen slot exactly to the front of the ring
+   */
+  public static float getFlingRotation(float ringAngle, int count, float naturalRotation)
+  {
+    final float snapRotation = RingGeometry.getSnapRotation(ringAngle, count);
+
+    if (count <= 0 || naturalRotation == 0.0f)
+    {
+      return snapRotation;
+    }
+
+    final float angleUnit = 360.0f / count;
+    final int direction = naturalRotation > 0.0f ? 1 : -1;
+    int slots = Math.round((naturalRotation - snapRotation) / angleUnit);
+
+    if (slots * direction < 1)
+    {
+      slots = direction;
+    }
+
+    return snapRotation + slots * angleUnit;
+  }
+
+  /**
+   * @param visibleArc        The arc, in degrees, centered on the front of the ring, in which items are attached
+   * @param prefetchItemCount The number of items attached on each side of the visible arc
+   * @param count             The number of items of the ring
+   * @return The number of items attached on each side of the front item, or -1 if all the items are attached
+   */
+  public static int getWindowHalfSize(float visibleArc, int prefetchItemCount, int count)
+  {
+    final int halfSize = (int) Math.ceil(visibleArc / 2.0f * count / 360.0f) + prefetchItemCount;
+
+    return 2 * halfSize + 1 >= count ? -1 : halfSize;
+  }
+
+  /**
+   * @return True if the given position is at most halfSize items away from the front position, on either side of the ring
+   */
+  public static boolean isInWindow(int position, int frontPosition, int halfSize, int count)
+  {
+    if (halfSize < 0)
+    {
+      return true;
+    }
+
+    int distance = Math.abs(position - frontPosition);
+
+    if (distance > count / 2)
+    {
+      distance = count - distance;
+    }
+
+    return distance <= halfSize;
+  }
+
+  /**
+   * @return The position at the given offset from the front position, wrapped around the ring
+   */
+  public static int getWindowPosition(int frontPosition, int offset, int count)
+  {
+    return ((frontPosition + offset) % count + count) % count;
+  }
+
+}
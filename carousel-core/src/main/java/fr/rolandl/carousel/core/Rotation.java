@@ -0,0 +1,315 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * The math of a rotation of the ring, free of any Android dependency: the current time is given by the caller, in nanoseconds, so the rotation can be
+ * stepped with the timestamp of the display frame. A rotation either covers a given angle with a pluggable {@link Motion} (scroll mode), or covers it
+ * with a constant deceleration from an initial velocity (fling mode), so a fling stops exactly on the slot it has been aimed at. Both modes end exactly
+ * on their target.
+ * <p/>
+ * A rotation in flight can be retargeted: the new rotation starts from the current angle and velocity, the difference between that velocity and the
+ * initial velocity of the motion being blended out over the rotation, so the velocity stays continuous whatever the motion.
+ */
+public final class Rotation
+{
+
+  /**
+   * The default deceleration of a fling, in degrees per second squared
+   */
+  public static final float DEFAULT_FLING_DECELERATION = 720.0f;
+
+  private static final long NANOS_PER_MILLI = 1000000L;
+
+  private static final double NANOS_PER_SECOND = 1000000000.0;
+
+  /**
+   * The difference, in degrees, under which a new target is the one of the rotation in flight
+   */
+  private static final float SAME_TARGET_TOLERANCE = 0.0001f;
+
+  /**
+   * The motion of the scroll mode
+   */
+  private Motion motion = new LinearMotion();
+
+  /**
+   * The motion of the fling mode
+   */
+  private final DecelerateMotion flingMotion = new DecelerateMotion();
+
+  /**
+   * The motion of the current rotation
+   */
+  private Motion currentMotion = motion;
+
+  private float startAngle;
+
+  private float currAngle;
+
+  /**
+   * The start time, in nanoseconds
+   */
+  private long startTime;
+
+  /**
+   * The duration, in nanoseconds
+   */
+  private long durationNanos;
+
+  /**
+   * The angle the rotation ends on: the target of a retargeted rotation is kept as is, since the start angle plus the rotated angle may differ from
+   * it by a rounding error
+   */
+  private float finalAngle;
+
+  private boolean finished = true;
+
+  /**
+   * The velocity, in degrees per second, the rotation starts with in addition to the initial velocity of its motion, see
+   * {@link #retarget(long, float, int)}
+   */
+  private float velocityCorrection;
+
+  /**
+   * Sets how the rotations of the scroll mode cover their angle. The current rotation is not affected.
+   *
+   * @param motion A motion which is not used by another rotation, since it holds the state of the rotation it has been started for
+   */
+  public void setMotion(Motion motion)
+  {
+    this.motion = motion;
+  }
+
+  public Motion getMotion()
+  {
+    return motion;
+  }
+
+  public boolean isFinished()
+  {
+    return finished;
+  }
+
+  public void forceFinished(boolean finished)
+  {
+    this.finished = finished;
+  }
+
+  /**
+   * @return The duration, in milliseconds
+   */
+  public long getDuration()
+  {
+    return durationNanos / Rotation.NANOS_PER_MILLI;
+  }
+
+  public float getCurrAngle()
+  {
+    return currAngle;
+  }
+
+  public float getStartAngle()
+  {
+    return startAngle;
+  }
+
+  /**
+   * @return The angle the rotation ends on
+   */
+  public float getFinalAngle()
+  {
+    return finalAngle;
+  }
+
+  /**
+   * @return The angular velocity of the rotation at the given time, in degrees per second, with the sign of the rotated angle, or 0 once the rotation
+   * is finished
+   */
+  public float getCurrVelocity(long currentTimeNanos)
+  {
+    final long timePassedNanos = Math.max(0L, currentTimeNanos - startTime);
+
+    if (finished == true || timePassedNanos >= durationNanos)
+    {
+      return 0.0f;
+    }
+
+    return currentMotion.getVelocity(timePassedNanos) + velocityCorrection * getCorrectionSlope(timePassedNanos);
+  }
+
+  /**
+   * @return The elapsed time in milliseconds.
+   */
+  public int timePassed(long currentTimeNanos)
+  {
+    return (int) ((currentTimeNanos - startTime) / Rotation.NANOS_PER_MILLI);
+  }
+
+  /**
+   * Covers the remaining angle of the rotation in the given time, from the current angle and velocity.
+   */
+  public void extendDuration(long currentTimeNanos, int extend)
+  {
+    restart(currentMotion, currentTimeNanos, getFinalAngle(), extend * Rotation.NANOS_PER_MILLI);
+  }
+
+  /**
+   * Computes the angle of the rotation at the given time.
+   *
+   * @param currentTimeNanos The current time, in nanoseconds
+   * @return True if the rotation is not yet finished
+   */
+  public boolean computeAngleOffset(long currentTimeNanos)
+  {
+    if (finished == true)
+    {
+      return false;
+    }
+
+    // A frame may be timestamped a little before the rotation started
+    final long timePassedNanos = Math.max(0L, currentTimeNanos - startTime);
+
+    if (timePassedNanos < durationNanos)
+    {
+      currAngle = startAngle + currentMotion.getAngle(timePassedNanos) + velocityCorrection * getCorrectionAngle(timePassedNanos);
+      return true;
+    }
+    else
+    {
+      // The rotation ends exactly on its target, whatever the time of the last frame
+      currAngle = finalAngle;
+
+      finished = true;
+      return false;
+    }
+  }
+
+  /**
+   * Starts a rotation covering the given angle with the motion of the scroll mode.
+   */
+  public void startRotate(long currentTimeNanos, float startAngle, float dAngle, int duration)
+  {
+    startRotate(currentTimeNanos, startAngle, dAngle, duration, 0.0f);
+  }
+
+  /**
+   * Starts a rotation covering the given angle with the motion of the scroll mode.
+   *
+   * @param duration The requested duration, in milliseconds, which a physical motion may not follow
+   * @param velocity The angular velocity the ring already has, in degrees per second, which a physical motion continues from
+   */
+  public void startRotate(long currentTimeNanos, float startAngle, float dAngle, int duration, float velocity)
+  {
+    start(motion, currentTimeNanos, startAngle, dAngle, velocity, duration * Rotation.NANOS_PER_MILLI);
+  }
+
+  /**
+   * Starts a rotation covering the given angle with a constant deceleration, so it stops exactly on its target. The initial velocity is the given one
+   * if it is enough to reach the target with the given deceleration; otherwise the rotation starts a little faster, so it does not last longer than
+   * a free fling covering the same angle.
+   *
+   * @param velocity     The initial angular velocity, in degrees per second: only its magnitude is used
+   * @param deceleration The deceleration of a free fling, in degrees per second squared
+   */
+  public void fling(long currentTimeNanos, float startAngle, float dAngle, float velocity, float deceleration)
+  {
+    final double speed = Math.max(Math.abs(velocity), Math.sqrt(2.0 * deceleration * Math.abs(dAngle)));
+    final long durationNanos = Math.round(2.0 * Rotation.NANOS_PER_SECOND * Math.abs(dAngle) / speed);
+
+    start(flingMotion, currentTimeNanos, startAngle, dAngle, velocity, durationNanos);
+  }
+
+  /**
+   * Redirects the rotation in flight to a new target, with the motion of the scroll mode: the rotation continues from its current angle and velocity
+   * instead of starting again from rest. If the rotation is finished, a new one starts from its final angle.
+   *
+   * @param targetAngle The angle the rotation has to end on
+   * @param duration    The requested duration, in milliseconds, from now
+   */
+  public void retarget(long currentTimeNanos, float targetAngle, int duration)
+  {
+    if (finished == true)
+    {
+      startRotate(currentTimeNanos, currAngle, targetAngle - currAngle, duration);
+      return;
+    }
+
+    if (Math.abs(targetAngle - getFinalAngle()) < Rotation.SAME_TARGET_TOLERANCE)
+    {
+      // Already heading there: the rotation is not started again
+      return;
+    }
+
+    restart(motion, currentTimeNanos, targetAngle, duration * Rotation.NANOS_PER_MILLI);
+  }
+
+  /**
+   * Starts a rotation from the current angle and velocity of the rotation in flight
+   */
+  private void restart(Motion motion, long currentTimeNanos, float targetAngle, long durationNanos)
+  {
+    final float velocity = getCurrVelocity(currentTimeNanos);
+
+    computeAngleOffset(currentTimeNanos);
+    start(motion, currentTimeNanos, currAngle, targetAngle - currAngle, velocity, durationNanos);
+    finalAngle = targetAngle;
+
+    // The motion decided its own initial velocity: the difference is blended out over the rotation
+    velocityCorrection = velocity - motion.getVelocity(0L);
+  }
+
+  private void start(Motion motion, long currentTimeNanos, float startAngle, float dAngle, float velocity, long durationNanos)
+  {
+    currentMotion = motion;
+    finished = false;
+    startTime = currentTimeNanos;
+    this.startAngle = startAngle;
+    finalAngle = startAngle + dAngle;
+    velocityCorrection = 0.0f;
+    this.durationNanos = Math.max(1L, motion.start(dAngle, velocity, durationNanos));
+  }
+
+  /**
+   * @return The angle, per degree per second of velocity correction, added at the given time: t * (1 - t / T)^2, which starts with a slope of 1 and
+   * ends with a null angle and a null slope, so the rotation still ends on its target at the velocity of its motion
+   */
+  private float getCorrectionAngle(long timePassedNanos)
+  {
+    if (velocityCorrection == 0.0f)
+    {
+      return 0.0f;
+    }
+
+    final double progress = (double) timePassedNanos / durationNanos;
+
+    return (float) (timePassedNanos / Rotation.NANOS_PER_SECOND * (1.0 - progress) * (1.0 - progress));
+  }
+
+  /**
+   * @return The derivative of {@link #getCorrectionAngle(long)}: (1 - t / T) * (1 - 3 * t / T)
+   */
+  private float getCorrectionSlope(long timePassedNanos)
+  {
+    if (velocityCorrection == 0.0f)
+    {
+      return 0.0f;
+    }
+
+    final double progress = (double) timePassedNanos / durationNanos;
+
+    return (float) ((1.0 - progress) * (1.0 - 3.0 * progress));
+  }
+
+  /**
+   * @param velocity     The initial angular velocity, in degrees per second
+   * @param deceleration The deceleration, in degrees per second squared
+   * @return The angle, with the sign of the velocity, covered by a free fling until it stops
+   */
+  public static float getFlingDistance(float velocity, float deceleration)
+  {
+    return velocity * Math.abs(velocity) / (2.0f * deceleration);
+  }
+
+}
@@ -0,0 +1,355 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * A uniform grid over the projected quads of the items, so a point is only tested against the items whose bounding box overlaps its cell. Each item
+ * is identified by a slot, and keeps its quad, its z coordinate and the cells it covers: updating an item which stays in the same cells does not
+ * touch the grid, so the index is maintained incrementally while the ring rotates. The slots of a cell are sorted from the front to the back when
+ * the cell is queried, so a query stops at the first hit.
+ */
+public final class SpatialIndex
+{
+
+  /**
+   * Tells whether a slot may be returned by a query, for instance because its item is still attached
+   */
+  public interface SlotFilter
+  {
+
+    boolean accept(int slot);
+
+  }
+
+  /**
+   * The default number of columns and rows of the grid
+   */
+  public static final int DEFAULT_GRID_SIZE = 8;
+
+  private final int columns;
+
+  private final int rows;
+
+  private float cellWidth = 1.0f;
+
+  private float cellHeight = 1.0f;
+
+  /**
+   * The slots of each cell
+   */
+  private final int[][] cells;
+
+  private final int[] cellSizes;
+
+  /**
+   * Whether the slots of each cell have to be sorted again before a query
+   */
+  private final boolean[] cellsDirty;
+
+  /**
+   * The quad of each slot, see {@link HitTester}
+   */
+  private float[] quads = new float[0];
+
+  private float[] z = new float[0];
+
+  /**
+   * The first column, first row, last column and last row covered by each slot, or -1 if the slot is not indexed
+   */
+  private int[] ranges = new int[0];
+
+  private int capacity;
+
+  public SpatialIndex()
+  {
+    this(SpatialIndex.DEFAULT_GRID_SIZE, SpatialIndex.DEFAULT_GRID_SIZE);
+  }
+
+  public SpatialIndex(int columns, int rows)
+  {
+    this.columns = columns;
+    this.rows = rows;
+    cells = new int[columns * rows][];
+    cellSizes = new int[columns * rows];
+    cellsDirty = new boolean[columns * rows];
+
+    for (int cell = 0; cell < cells.length; cell++)
+    {
+      cells[cell] = new int[4];
+    }
+  }
+
+  /**
+   * Sets the size of the indexed area. The slots already indexed are distributed again in the cells.
+   */
+  public void setSize(float width, float height)
+  {
+    final float cellWidth = Math.max(1.0f, width / columns);
+    final float cellHeight = Math.max(1.0f, height / rows);
+
+    if (cellWidth == this.cellWidth && cellHeight == this.cellHeight)
+    {
+      return;
+    }
+
+    this.cellWidth = cellWidth;
+    this.cellHeight = cellHeight;
+
+    for (int cell = 0; cell < cellSizes.length; cell++)
+    {
+      cellSizes[cell] = 0;
+    }
+
+    for (int slot = 0; slot < capacity; slot++)
+    {
+      if (ranges[slot * 4] >= 0)
+      {
+        computeRange(slot);
+        addToCells(slot);
+      }
+    }
+  }
+
+  /**
+   * Indexes a slot, or moves it if it is already indexed.
+   *
+   * @param slot       The slot of the item
+   * @param quad       The projected quad of the item
+   * @param quadOffset The index of the first value of the quad
+   * @param itemZ      The z coordinate of the item, the smallest z being the front most item
+   */
+  public void update(int slot, float[] quad, int quadOffset, float itemZ)
+  {
+    ensureCapacity(slot + 1);
+    System.arraycopy(quad, quadOffset, quads, slot * HitTester.QUAD_SIZE, HitTester.QUAD_SIZE);
+    z[slot] = itemZ;
+
+    final int offset = slot * 4;
+    final int firstColumn = ranges[offset];
+    final int firstRow = ranges[offset + 1];
+    final int lastColumn = ranges[offset + 2];
+    final int lastRow = ranges[offset + 3];
+
+    computeRange(slot);
+
+    if (firstColumn == ranges[offset] && firstRow == ranges[offset + 1] && lastColumn == ranges[offset + 2] && lastRow == ranges[offset + 3])
+    {
+      // Still in the same cells, whose order may have changed
+      markCellsDirty(slot);
+      return;
+    }
+
+    if (firstColumn >= 0)
+    {
+      removeFromCells(slot, firstColumn, firstRow, lastColumn, lastRow);
+    }
+
+    addToCells(slot);
+  }
+
+  /**
+   * Removes a slot from the index, if it is indexed.
+   */
+  public void remove(int slot)
+  {
+    if (slot >= capacity || ranges[slot * 4] < 0)
+    {
+      return;
+    }
+
+    final int offset = slot * 4;
+    removeFromCells(slot, ranges[offset], ranges[offset + 1], ranges[offset + 2], ranges[offset + 3]);
+    ranges[offset] = -1;
+  }
+
+  public void clear()
+  {
+    for (int cell = 0; cell < cellSizes.length; cell++)
+    {
+      cellSizes[cell] = 0;
+    }
+
+    for (int slot = 0; slot < capacity; slot++)
+    {
+      ranges[slot * 4] = -1;
+    }
+  }
+
+  /**
+   * Looks for the front most slot whose quad contains the given point, among the ones of its cell.
+   *
+   * @param x      The x coordinate of the point
+   * @param y      The y coordinate of the point
+   * @param filter Tells which slots may be returned, or null to accept them all
+   * @return The slot, or -1 if no slot contains the point
+   */
+  public int query(float x, float y, SpatialIndex.SlotFilter filter)
+  {
+    final int cell = getRow(y) * columns + getColumn(x);
+    final int[] slots = cells[cell];
+    final int size = cellSizes[cell];
+
+    if (cellsDirty[cell] == true)
+    {
+      sortByIncreasingZ(slots, size);
+      cellsDirty[cell] = false;
+    }
+
+    for (int i = 0; i < size; i++)
+    {
+      final int slot = slots[i];
+
+      if (HitTester.quadContains(quads, slot * HitTester.QUAD_SIZE, x, y) == true && (filter == null || filter.accept(slot) == true))
+      {
+        return slot;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Sorts the slots of a cell from the front to the back. The items only move a little between two queries, so the insertion sort is almost linear.
+   */
+  private void sortByIncreasingZ(int[] slots, int size)
+  {
+    for (int i = 1; i < size; i++)
+    {
+      final int slot = slots[i];
+      final float slotZ = z[slot];
+      int j = i - 1;
+
+      while (j >= 0 && z[slots[j]] > slotZ)
+      {
+        slots[j + 1] = slots[j];
+        j--;
+      }
+
+      slots[j + 1] = slot;
+    }
+  }
+
+  private void markCellsDirty(int slot)
+  {
+    final int offset = slot * 4;
+
+    for (int row = ranges[offset + 1]; row <= ranges[offset + 3]; row++)
+    {
+      for (int column = ranges[offset]; column <= ranges[offset + 2]; column++)
+      {
+        cellsDirty[row * columns + column] = true;
+      }
+    }
+  }
+
+  private int getColumn(float x)
+  {
+    return Math.max(0, Math.min(columns - 1, (int) (x / cellWidth)));
+  }
+
+  private int getRow(float y)
+  {
+    return Math.max(0, Math.min(rows - 1, (int) (y / cellHeight)));
+  }
+
+  /**
+   * Computes the cells covered by the bounding box of the quad of a slot
+   */
+  private void computeRange(int slot)
+  {
+    final int quadOffset = slot * HitTester.QUAD_SIZE;
+    float left = quads[quadOffset];
+    float top = quads[quadOffset + 1];
+    float right = left;
+    float bottom = top;
+
+    for (int i = 2; i < HitTester.QUAD_SIZE; i += 2)
+    {
+      left = Math.min(left, quads[quadOffset + i]);
+      right = Math.max(right, quads[quadOffset + i]);
+      top = Math.min(top, quads[quadOffset + i + 1]);
+      bottom = Math.max(bottom, quads[quadOffset + i + 1]);
+    }
+
+    final int offset = slot * 4;
+    ranges[offset] = getColumn(left);
+    ranges[offset + 1] = getRow(top);
+    ranges[offset + 2] = getColumn(right);
+    ranges[offset + 3] = getRow(bottom);
+  }
+
+  private void addToCells(int slot)
+  {
+    final int offset = slot * 4;
+
+    for (int row = ranges[offset + 1]; row <= ranges[offset + 3]; row++)
+    {
+      for (int column = ranges[offset]; column <= ranges[offset + 2]; column++)
+      {
+        final int cell = row * columns + column;
+
+        if (cellSizes[cell] == cells[cell].length)
+        {
+          final int[] slots = new int[cells[cell].length * 2];
+          System.arraycopy(cells[cell], 0, slots, 0, cellSizes[cell]);
+          cells[cell] = slots;
+        }
+
+        cells[cell][cellSizes[cell]++] = slot;
+        cellsDirty[cell] = true;
+      }
+    }
+  }
+
+  private void removeFromCells(int slot, int firstColumn, int firstRow, int lastColumn, int lastRow)
+  {
+    for (int row = firstRow; row <= lastRow; row++)
+    {
+      for (int column = firstColumn; column <= lastColumn; column++)
+      {
+        final int cell = row * columns + column;
+        final int[] slots = cells[cell];
+
+        for (int i = 0; i < cellSizes[cell]; i++)
+        {
+          if (slots[i] == slot)
+          {
+            // The cell is sorted again before the next query
+            slots[i] = slots[--cellSizes[cell]];
+            cellsDirty[cell] = true;
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  private void ensureCapacity(int capacity)
+  {
+    if (capacity <= this.capacity)
+    {
+      return;
+    }
+
+    final int newCapacity = Math.max(capacity, this.capacity * 2);
+    final float[] quads = new float[newCapacity * HitTester.QUAD_SIZE];
+    final float[] z = new float[newCapacity];
+    final int[] ranges = new int[newCapacity * 4];
+
+    System.arraycopy(this.quads, 0, quads, 0, this.capacity * HitTester.QUAD_SIZE);
+    System.arraycopy(this.z, 0, z, 0, this.capacity);
+    System.arraycopy(this.ranges, 0, ranges, 0, this.capacity * 4);
+
+    for (int slot = this.capacity; slot < newCapacity; slot++)
+    {
+      ranges[slot * 4] = -1;
+    }
+
+    this.quads = quads;
+    this.z = z;
+    this.ranges = ranges;
+    this.capacity = newCapacity;
+  }
+
+}
@@ -0,0 +1,124 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Pulls the ring to its target with a critically damped spring: the fastest return without oscillation. The spring starts from the velocity the ring
+ * already has, so a rotation can take over a fling in flight without a jolt. The duration is decided by the stiffness, not by the requested
+ * duration: the rotation ends when the ring is at rest close enough to its target.
+ * <p/>
+ * The offset to the target is (x0 + (v0 + w * x0) * t) * e^(-w * t), where x0 is the initial offset, v0 the initial velocity and w the square root
+ * of the stiffness.
+ */
+public final class SpringMotion
+    implements Motion
+{
+
+  /**
+   * The default stiffness, in 1 / s^2, which brings the ring to rest in about half a second
+   */
+  public static final float DEFAULT_STIFFNESS = 200.0f;
+
+  /**
+   * The offset to the target, in degrees, under which the ring is at rest
+   */
+  private static final double REST_ANGLE = 0.01;
+
+  /**
+   * The velocity, in degrees per second, under which the ring is at rest
+   */
+  private static final double REST_VELOCITY = 1.0;
+
+  /**
+   * The longest duration of a rotation, in seconds
+   */
+  private static final double MAX_DURATION = 10.0;
+
+  private static final double NANOS_PER_SECOND = 1000000000.0;
+
+  /**
+   * The natural angular frequency of the spring, in radians per second
+   */
+  private final double frequency;
+
+  private float deltaAngle;
+
+  private double initialOffset;
+
+  private double slope;
+
+  public SpringMotion()
+  {
+    this(SpringMotion.DEFAULT_STIFFNESS);
+  }
+
+  /**
+   * @param stiffness The stiffness of the spring, in 1 / s^2, strictly positive: the stiffer, the faster
+   */
+  public SpringMotion(float stiffness)
+  {
+    if (stiffness <= 0.0f)
+    {
+      throw new IllegalArgumentException("The stiffness must be strictly positive");
+    }
+
+    frequency = Math.sqrt(stiffness);
+  }
+
+  @Override
+  public long start(float deltaAngle, float velocity, long durationNanos)
+  {
+    this.deltaAngle = deltaAngle;
+    initialOffset = -deltaAngle;
+    slope = velocity + frequency * initialOffset;
+
+    // Looks for the time the ring comes to rest, a few steps per time constant of the spring, the exponential being advanced by a constant factor
+    final double step = 1.0 / (8.0 * frequency);
+    final double stepDecay = Math.exp(-frequency * step);
+    double decay = stepDecay;
+    double time = step;
+
+    while (time < SpringMotion.MAX_DURATION)
+    {
+      final double offset = (initialOffset + slope * time) * decay;
+      final double offsetVelocity = (slope - frequency * (initialOffset + slope * time)) * decay;
+
+      if (Math.abs(offset) <= SpringMotion.REST_ANGLE && Math.abs(offsetVelocity) <= SpringMotion.REST_VELOCITY)
+      {
+        break;
+      }
+
+      time += step;
+      decay *= stepDecay;
+    }
+
+    return (long) (Math.min(time, SpringMotion.MAX_DURATION) * SpringMotion.NANOS_PER_SECOND);
+  }
+
+  @Override
+  public float getAngle(long elapsedNanos)
+  {
+    return (float) (deltaAngle + getOffset(elapsedNanos / SpringMotion.NANOS_PER_SECOND));
+  }
+
+  @Override
+  public float getVelocity(long elapsedNanos)
+  {
+    return (float) getOffsetVelocity(elapsedNanos / SpringMotion.NANOS_PER_SECOND);
+  }
+
+  /**
+   * @return The offset to the target at the given time, in seconds
+   */
+  private double getOffset(double time)
+  {
+    return (initialOffset + slope * time) * Math.exp(-frequency * time);
+  }
+
+  private double getOffsetVelocity(double time)
+  {
+    return (slope - frequency * (initialOffset + slope * time)) * Math.exp(-frequency * time);
+  }
+
+}
@@ -0,0 +1,182 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Memoizes the 3D positions of the ring for quantized angles. The position of an item only depends on its angle, the size of the ring and its width,
+ * and the width only shifts its x coordinate: the cache stores, for each bucket of angles, the coordinates of an item of width 0 computed at the angle
+ * of the bucket. With evenly spaced items and snapping, the same angles recur constantly. The cache is bounded by its number of buckets, and is only
+ * invalidated when the size of the ring changes. The positions are off by at most half a bucket: with the default bucket size of 0.25 degree, about
+ * one pixel for a ring of 1,000 pixels.
+ */
+public final class TransformCache
+{
+
+  /**
+   * The default size of a bucket, in degrees
+   */
+  public static final float DEFAULT_BUCKET_SIZE = 0.25f;
+
+  private final float bucketSize;
+
+  private final int bucketCount;
+
+  private final float[] x;
+
+  private final float[] y;
+
+  private final float[] z;
+
+  /**
+   * The version of the size of the ring each bucket has been computed for, so the cache is invalidated without being cleared
+   */
+  private final int[] sizeVersions;
+
+  private int sizeVersion = 1;
+
+  private int diameter = -1;
+
+  private int height = -1;
+
+  private long hitCount;
+
+  private long missCount;
+
+  private final Trigonometry trigonometry = new ExactTrigonometry();
+
+  /**
+   * Receives the sine and the cosine of the angle of a bucket
+   */
+  private final float[] sinCos = new float[2];
+
+  public TransformCache()
+  {
+    this(TransformCache.DEFAULT_BUCKET_SIZE);
+  }
+
+  /**
+   * @param bucketSize The size of a bucket, in degrees, in ]0, 360]: it is adjusted so a whole turn holds a whole number of buckets
+   */
+  public TransformCache(float bucketSize)
+  {
+    if (bucketSize <= 0.0f || bucketSize > 360.0f)
+    {
+      throw new IllegalArgumentException("The bucket size must be in ]0, 360]");
+    }
+
+    bucketCount = Math.round(360.0f / bucketSize);
+    this.bucketSize = 360.0f / bucketCount;
+    x = new float[bucketCount];
+    y = new float[bucketCount];
+    z = new float[bucketCount];
+    sizeVersions = new int[bucketCount];
+  }
+
+  /**
+   * Sets the size of the ring, which invalidates the cache if it changed.
+   *
+   * @param diameter The diameter of the ring, which is the width of the carousel
+   * @param height   The height of the carousel
+   */
+  public void setSize(int diameter, int height)
+  {
+    if (this.diameter != diameter || this.height != height)
+    {
+      this.diameter = diameter;
+      this.height = height;
+      sizeVersion++;
+    }
+  }
+
+  /**
+   * Reads the 3D position of an item from the bucket of its angle, which is computed if it is not cached yet.
+   *
+   * @param angle     The angle of the item, in degrees, in [0, 360[
+   * @param itemWidth The width of the item
+   * @param out       Receives the x, y and z coordinates of the item, from the given offset
+   * @param offset    The index of the x coordinate in out
+   * @see RingGeometry#computePositionAtAngle(float, int, float[], int)
+   */
+  public void computePosition(float angle, int itemWidth, float[] out, int offset)
+  {
+    int bucket = Math.round(angle / bucketSize);
+
+    if (bucket >= bucketCount)
+    {
+      bucket -= bucketCount;
+    }
+    else if (bucket < 0)
+    {
+      bucket += bucketCount;
+    }
+
+    if (sizeVersions[bucket] == sizeVersion)
+    {
+      hitCount++;
+    }
+    else
+    {
+      missCount++;
+      computeBucket(bucket);
+    }
+
+    out[offset] = x[bucket] - itemWidth / 2;
+    out[offset + 1] = y[bucket];
+    out[offset + 2] = z[bucket];
+  }
+
+  /**
+   * Computes the position of an item of width 0 at the angle of a bucket, with the same math as {@link RingGeometry}
+   */
+  private void computeBucket(int bucket)
+  {
+    trigonometry.sinCos(-1, bucket * bucketSize, sinCos, 0);
+
+    final float z = diameter / 2 * (1.0f - sinCos[1]);
+
+    x[bucket] = -(diameter / 2 * sinCos[0]) + diameter / 2;
+    y[bucket] = -height / 2 + z * RingGeometry.SIN_THETA;
+    this.z[bucket] = z;
+    sizeVersions[bucket] = sizeVersion;
+  }
+
+  /**
+   * @return The size of a bucket, in degrees
+   */
+  public float getBucketSize()
+  {
+    return bucketSize;
+  }
+
+  /**
+   * @return The number of buckets, which bounds the number of cached positions
+   */
+  public int getBucketCount()
+  {
+    return bucketCount;
+  }
+
+  /**
+   * @return The number of positions read from the cache since the creation or the last {@link #resetCounts()}
+   */
+  public long getHitCount()
+  {
+    return hitCount;
+  }
+
+  /**
+   * @return The number of positions computed because they were not cached, since the creation or the last {@link #resetCounts()}
+   */
+  public long getMissCount()
+  {
+    return missCount;
+  }
+
+  public void resetCounts()
+  {
+    hitCount = 0L;
+    missCount = 0L;
+  }
+
+}
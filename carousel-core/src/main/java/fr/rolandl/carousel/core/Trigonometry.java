@@ -0,0 +1,39 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Computes the sine and the cosine of the angles of the items of the ring. The ring notifies the implementation of its rotations, so an
+ * implementation may derive the items angles from the ring angle instead of calling the trig functions for every item.
+ */
+public interface Trigonometry
+{
+
+  /**
+   * Called when the ring is laid out again, or when the number of items changed.
+   *
+   * @param ringAngle The angle of the item at position 0, in degrees
+   * @param count     The number of items of the ring
+   */
+  void setRing(float ringAngle, int count);
+
+  /**
+   * Called when the ring rotates.
+   *
+   * @param deltaAngle The rotation, in degrees
+   * @param ringAngle  The new angle of the item at position 0, in degrees
+   */
+  void rotate(float deltaAngle, float ringAngle);
+
+  /**
+   * Computes the sine and the cosine of the angle of an item.
+   *
+   * @param position The position of the item
+   * @param angle    The angle of the item, in degrees, in [0, 360[
+   * @param out      Receives the sine, then the cosine, from the given offset
+   * @param offset   The index of the sine in out
+   */
+  void sinCos(int position, float angle, float[] out, int offset);
+
+}
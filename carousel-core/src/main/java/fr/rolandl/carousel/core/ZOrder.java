@@ -0,0 +1,106 @@
+package fr.rolandl.carousel.core;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Keeps the items of the ring sorted by z coordinate in reverse order, so the items with the greater z are drawn first. The previous order is used as
+ * the starting point of each sort: the items only move a little between two frames, so the insertion sort is almost linear and does not allocate.
+ */
+public final class ZOrder
+{
+
+  private int[] order = new int[0];
+
+  private int count;
+
+  private boolean dirty = true;
+
+  /**
+   * Sorts the indexes of the items.
+   *
+   * @param z     The z coordinate of each item
+   * @param count The number of items
+   */
+  public void sort(float[] z, int count)
+  {
+    if (order.length < count)
+    {
+      order = new int[count];
+    }
+
+    final int[] order = this.order;
+
+    if (this.count != count)
+    {
+      // The items changed, restart from the identity permutation
+      for (int i = 0; i < count; i++)
+      {
+        order[i] = i;
+      }
+
+      this.count = count;
+    }
+
+    ZOrder.sortByDecreasingZ(order, z, count);
+    dirty = false;
+  }
+
+  /**
+   * Sorts a permutation of item indexes by decreasing z coordinate.
+   *
+   * @param order A permutation of [0, count[, sorted in place
+   * @param z     The z coordinate of each item
+   * @param count The number of items
+   */
+  public static void sortByDecreasingZ(int[] order, float[] z, int count)
+  {
+    for (int i = 1; i < count; i++)
+    {
+      final int index = order[i];
+      final float indexZ = z[index];
+      int j = i - 1;
+
+      while (j >= 0 && z[order[j]] < indexZ)
+      {
+        order[j + 1] = order[j];
+        j--;
+      }
+
+      order[j + 1] = index;
+    }
+  }
+
+  /**
+   * @return The index of the item to draw at the given rank
+   */
+  public int get(int rank)
+  {
+    return order[rank];
+  }
+
+  /**
+   * @return The number of items of the last sort
+   */
+  public int getCount()
+  {
+    return count;
+  }
+
+  /**
+   * @return True if the order has to be sorted again for the given number of items
+   */
+  public boolean needsSort(int count)
+  {
+    return dirty == true || this.count != count;
+  }
+
+  /**
+   * Indicates that the items moved since the last sort
+   */
+  public void invalidate()
+  {
+    dirty = true;
+  }
+
+}
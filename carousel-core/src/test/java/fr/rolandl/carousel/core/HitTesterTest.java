@@ -0,0 +1,210 @@
+package fr.rolandl.carousel.core;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks the projection of the bounds of the items through their matrix, and the points their quads contain: the inside, the edges, whatever the
+ * orientation of the corners, and the degenerate quads.
+ */
+public final class HitTesterTest
+{
+
+  private static final float CENTER_X = 540.0f;
+
+  private static final float CENTER_Y = 300.0f;
+
+  private static final float WIDTH = 200.0f;
+
+  private static final float HEIGHT = 120.0f;
+
+  @Test
+  public void mapPointAppliesTheMatrix()
+  {
+    final float[] point = new float[4];
+
+    HitTester.mapPoint(new float[] { 2.0f, 0.5f, 10.0f, 0.25f, 3.0f, -20.0f, 0.0f, 0.0f, 1.0f }, 0, 4.0f, 8.0f, point, 2);
+
+    Assert.assertEquals(22.0f, point[2], 1e-5f);
+    Assert.assertEquals(5.0f, point[3], 1e-5f);
+  }
+
+  @Test
+  public void mapPointDividesByThePerspective()
+  {
+    final float[] point = new float[2];
+
+    HitTester.mapPoint(new float[] { 1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.01f, 0.0f, 1.0f }, 0, 100.0f, 50.0f, point, 0);
+
+    Assert.assertEquals(50.0f, point[0], 1e-4f);
+    Assert.assertEquals(25.0f, point[1], 1e-4f);
+  }
+
+  @Test
+  public void projectedRectIsScaledAroundTheCenter()
+  {
+    final float x = 150.0f, y = 40.0f, z = 576.0f;
+    final float left = 300.0f, top = 200.0f;
+    final float[] quad = projectItem(x, y, z, left, top);
+
+    // Half the size, around the center of the carousel, then translated by half the coordinates
+    final float scale = 0.5f;
+    final float expectedLeft = HitTesterTest.CENTER_X + (left - HitTesterTest.CENTER_X) * scale + x * scale;
+    final float expectedTop = HitTesterTest.CENTER_Y + (top - HitTesterTest.CENTER_Y) * scale - y * scale;
+    final float expectedRight = expectedLeft + HitTesterTest.WIDTH * scale;
+    final float expectedBottom = expectedTop + HitTesterTest.HEIGHT * scale;
+
+    Assert.assertArrayEquals(
+        new float[] { expectedLeft, expectedTop, expectedRight, expectedTop, expectedRight, expectedBottom, expectedLeft, expectedBottom }, quad, 1e-3f);
+  }
+
+  @Test
+  public void rectangleContainsItsInsideOnly()
+  {
+    final float[] quad = { 10.0f, 20.0f, 110.0f, 20.0f, 110.0f, 80.0f, 10.0f, 80.0f };
+
+    Assert.assertTrue(HitTester.quadContains(quad, 0, 60.0f, 50.0f));
+    Assert.assertTrue(HitTester.quadContains(quad, 0, Math.nextUp(10.0f), Math.nextUp(20.0f)));
+    Assert.assertTrue(HitTester.quadContains(quad, 0, Math.nextAfter(110.0f, 0.0), Math.nextAfter(80.0f, 0.0)));
+
+    Assert.assertFalse(HitTester.quadContains(quad, 0, 5.0f, 50.0f));
+    Assert.assertFalse(HitTester.quadContains(quad, 0, 60.0f, 90.0f));
+    Assert.assertFalse(HitTester.quadContains(quad, 0, 200.0f, 200.0f));
+  }
+
+  @Test
+  public void edgesAndCornersAreNotContained()
+  {
+    final float[] quad = { 10.0f, 20.0f, 110.0f, 20.0f, 110.0f, 80.0f, 10.0f, 80.0f };
+
+    // The four edges
+    Assert.assertFalse(HitTester.quadContains(quad, 0, 60.0f, 20.0f));
+    Assert.assertFalse(HitTester.quadContains(quad, 0, 110.0f, 50.0f));
+    Assert.assertFalse(HitTester.quadContains(quad, 0, 60.0f, 80.0f));
+    Assert.assertFalse(HitTester.quadContains(quad, 0, 10.0f, 50.0f));
+
+    // The four corners
+    for (int corner = 0; corner < 4; corner++)
+    {
+      Assert.assertFalse(HitTester.quadContains(quad, 0, quad[corner * 2], quad[corner * 2 + 1]));
+    }
+  }
+
+  @Test
+  public void orientationOfTheCornersDoesNotMatter()
+  {
+    // A skewed quad, clockwise then counterclockwise on the screen
+    final float[] clockwise = { 30.0f, 0.0f, 100.0f, 10.0f, 90.0f, 70.0f, 0.0f, 60.0f };
+    final float[] counterclockwise = { 30.0f, 0.0f, 0.0f, 60.0f, 90.0f, 70.0f, 100.0f, 10.0f };
+    final Random random = new Random(23L);
+
+    for (int i = 0; i < 10000; i++)
+    {
+      final float x = random.nextFloat() * 120.0f - 10.0f;
+      final float y = random.nextFloat() * 90.0f - 10.0f;
+
+      Assert.assertEquals(HitTester.quadContains(clockwise, 0, x, y), HitTester.quadContains(counterclockwise, 0, x, y));
+    }
+
+    Assert.assertTrue(HitTester.quadContains(counterclockwise, 0, 50.0f, 35.0f));
+    Assert.assertFalse(HitTester.quadContains(counterclockwise, 0, 5.0f, 5.0f));
+  }
+
+  @Test
+  public void degenerateQuadsContainNothing()
+  {
+    final float[] point = { 50.0f, 50.0f, 50.0f, 50.0f, 50.0f, 50.0f, 50.0f, 50.0f };
+    final float[] segment = { 0.0f, 0.0f, 100.0f, 100.0f, 100.0f, 100.0f, 0.0f, 0.0f };
+    final float[] flat = { 0.0f, 50.0f, 100.0f, 50.0f, 100.0f, 50.0f, 0.0f, 50.0f };
+
+    for (final float[] quad : new float[][] { point, segment, flat })
+    {
+      Assert.assertFalse(HitTester.quadContains(quad, 0, 50.0f, 50.0f));
+      Assert.assertFalse(HitTester.quadContains(quad, 0, 25.0f, 25.0f));
+      Assert.assertFalse(HitTester.quadContains(quad, 0, 50.0f, 51.0f));
+    }
+
+    // An item scaled down to nothing, far behind the camera
+    final float[] vanished = projectItem(0.0f, 0.0f, Float.MAX_VALUE, 100.0f, 100.0f);
+
+    Assert.assertFalse(HitTester.quadContains(vanished, 0, HitTesterTest.CENTER_X, HitTesterTest.CENTER_Y));
+  }
+
+  @Test
+  public void projectedQuadContainsThePointsOfTheItem()
+  {
+    final Random random = new Random(9L);
+
+    for (int i = 0; i < 200; i++)
+    {
+      final float x = (random.nextFloat() - 0.5f) * 1080.0f;
+      final float y = (random.nextFloat() - 0.5f) * 200.0f;
+      final float z = random.nextFloat() * 1080.0f;
+      final float left = random.nextFloat() * 800.0f;
+      final float top = random.nextFloat() * 400.0f;
+      final float[] quad = projectItem(x, y, z, left, top);
+      final float scale = Projection.getScale(z);
+
+      for (int j = 0; j < 50; j++)
+      {
+        // A point of the item, in its coordinates, away from its edges
+        final float itemX = (random.nextFloat() * 1.2f - 0.1f) * HitTesterTest.WIDTH;
+        final float itemY = (random.nextFloat() * 1.2f - 0.1f) * HitTesterTest.HEIGHT;
+        final boolean inside = itemX > 1.0f && itemX < HitTesterTest.WIDTH - 1.0f && itemY > 1.0f && itemY < HitTesterTest.HEIGHT - 1.0f;
+        final boolean outside = itemX < -1.0f || itemX > HitTesterTest.WIDTH + 1.0f || itemY < -1.0f || itemY > HitTesterTest.HEIGHT + 1.0f;
+
+        final float screenX = HitTesterTest.CENTER_X + (left + itemX - HitTesterTest.CENTER_X) * scale + x * scale;
+        final float screenY = HitTesterTest.CENTER_Y + (top + itemY - HitTesterTest.CENTER_Y) * scale - y * scale;
+
+        if (inside == true)
+        {
+          Assert.assertTrue(HitTester.quadContains(quad, 0, screenX, screenY));
+        }
+        else if (outside == true)
+        {
+          Assert.assertFalse(HitTester.quadContains(quad, 0, screenX, screenY));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void hitTestReturnsTheFrontMostItem()
+  {
+    final float[] quads = { 0.0f, 0.0f, 100.0f, 0.0f, 100.0f, 100.0f, 0.0f, 100.0f, 50.0f, 50.0f, 150.0f, 50.0f, 150.0f, 150.0f, 50.0f, 150.0f };
+
+    Assert.assertEquals(1, HitTester.hitTest(quads, new int[] { 1, 0 }, 2, 75.0f, 75.0f));
+    Assert.assertEquals(0, HitTester.hitTest(quads, new int[] { 0, 1 }, 2, 75.0f, 75.0f));
+    Assert.assertEquals(0, HitTester.hitTest(quads, new int[] { 1, 0 }, 2, 25.0f, 25.0f));
+    Assert.assertEquals(-1, HitTester.hitTest(quads, new int[] { 1, 0 }, 2, 200.0f, 200.0f));
+
+    // Only the given number of items are tested
+    Assert.assertEquals(-1, HitTester.hitTest(quads, new int[] { 1, 0 }, 1, 25.0f, 25.0f));
+  }
+
+  /**
+   * @return The quad of an item of the test size, laid out at the given left and top, and projected at the given coordinates
+   */
+  private static float[] projectItem(float x, float y, float z, float left, float top)
+  {
+    final float[] matrix = new float[Projection.MATRIX_SIZE];
+    final float[] quad = new float[HitTester.QUAD_SIZE];
+
+    // As the carousel does, the matrix applies in the coordinates of the item, and the quad is offset by its position
+    Projection.computeMatrix(x, y, z, HitTesterTest.CENTER_X - left, HitTesterTest.CENTER_Y - top, matrix, 0);
+    HitTester.projectRect(matrix, 0, 0.0f, 0.0f, HitTesterTest.WIDTH, HitTesterTest.HEIGHT, quad, 0);
+
+    for (int i = 0; i < HitTester.QUAD_SIZE; i += 2)
+    {
+      quad[i] += left;
+      quad[i + 1] += top;
+    }
+
+    return quad;
+  }
+
+}
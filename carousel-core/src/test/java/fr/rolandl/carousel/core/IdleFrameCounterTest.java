@@ -0,0 +1,88 @@
+package fr.rolandl.carousel.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks which frames are counted as idle: the frames drawn while the ring stands still and no redraw was requested, and only them.
+ */
+public final class IdleFrameCounterTest
+{
+
+  @Test
+  public void firstFrameIsNotIdle()
+  {
+    final IdleFrameCounter counter = new IdleFrameCounter();
+
+    Assert.assertFalse(counter.onFrame(0));
+    Assert.assertEquals(0, counter.getCount());
+  }
+
+  @Test
+  public void framesOfAStillRingAreIdle()
+  {
+    final IdleFrameCounter counter = new IdleFrameCounter();
+    counter.onFrame(3);
+
+    for (int i = 1; i <= 60; i++)
+    {
+      Assert.assertTrue(counter.onFrame(3));
+      Assert.assertEquals(i, counter.getCount());
+    }
+  }
+
+  @Test
+  public void framesOfAMovingRingAreNotIdle()
+  {
+    final IdleFrameCounter counter = new IdleFrameCounter();
+
+    // A rotation bumps the ring version on every frame, then the ring stands still
+    for (int ringVersion = 0; ringVersion < 60; ringVersion++)
+    {
+      Assert.assertFalse(counter.onFrame(ringVersion));
+    }
+
+    Assert.assertEquals(0, counter.getCount());
+    Assert.assertTrue(counter.onFrame(59));
+    Assert.assertEquals(1, counter.getCount());
+  }
+
+  @Test
+  public void requestedRedrawIsNotIdle()
+  {
+    final IdleFrameCounter counter = new IdleFrameCounter();
+    counter.onFrame(5);
+
+    counter.requestRedraw();
+    Assert.assertFalse(counter.onFrame(5));
+
+    // The request only covers the next frame
+    Assert.assertTrue(counter.onFrame(5));
+    Assert.assertEquals(1, counter.getCount());
+  }
+
+  @Test
+  public void severalRequestsCoverASingleFrame()
+  {
+    final IdleFrameCounter counter = new IdleFrameCounter();
+    counter.onFrame(5);
+
+    counter.requestRedraw();
+    counter.requestRedraw();
+    Assert.assertFalse(counter.onFrame(5));
+    Assert.assertTrue(counter.onFrame(5));
+  }
+
+  @Test
+  public void anyRingVersionCanBeTheFirst()
+  {
+    final IdleFrameCounter counter = new IdleFrameCounter();
+
+    Assert.assertFalse(counter.onFrame(-1));
+    Assert.assertTrue(counter.onFrame(-1));
+  }
+
+}
@@ -0,0 +1,347 @@
+package fr.rolandl.carousel.core;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks the slot bookkeeping of the item states: the reuse of the released slots, the growth of the arrays, the skipped updates of the positions
+ * while the attached slots are up to date, and the dirty flag of the matrices.
+ */
+public final class ItemStatesTest
+{
+
+  private static final int DIAMETER = 1080;
+
+  private static final int HEIGHT = 600;
+
+  private static final int COUNT = 10;
+
+  private static final int WIDTH = 200;
+
+  private final ItemStates itemStates = new ItemStates();
+
+  private final RingGeometry geometry = new RingGeometry();
+
+  private final float[] position3D = new float[3];
+
+  @Before
+  public void setUp()
+  {
+    geometry.setSize(ItemStatesTest.DIAMETER, ItemStatesTest.HEIGHT);
+  }
+
+  @Test
+  public void releasedSlotsAreReused()
+  {
+    Assert.assertEquals(0, itemStates.allocate());
+    Assert.assertEquals(1, itemStates.allocate());
+    Assert.assertEquals(2, itemStates.allocate());
+
+    itemStates.release(0);
+    itemStates.release(2);
+
+    // The last released slot is reused first
+    Assert.assertEquals(2, itemStates.allocate());
+    Assert.assertEquals(0, itemStates.allocate());
+    Assert.assertEquals(3, itemStates.allocate());
+    Assert.assertEquals(4, itemStates.getSlotCount());
+  }
+
+  @Test
+  public void reusedSlotStartsAfresh()
+  {
+    final int slot = itemStates.allocate();
+    setState(slot, 7);
+    itemStates.computeMatrix(slot, 540.0f, 300.0f, 10.0f, 20.0f, ItemStatesTest.WIDTH, 100.0f);
+
+    itemStates.release(slot);
+
+    Assert.assertFalse(itemStates.isAttached(slot));
+    Assert.assertEquals(slot, itemStates.allocate());
+    Assert.assertEquals(0, itemStates.getPosition(slot));
+    Assert.assertEquals(0, itemStates.getWidth(slot));
+    Assert.assertEquals(-1, itemStates.getRingVersion(slot));
+    Assert.assertEquals(0.0f, itemStates.getAngle(slot), 0.0f);
+    Assert.assertEquals(0.0f, itemStates.getTransitionAngle(slot), 0.0f);
+    Assert.assertEquals(0.0f, itemStates.getX(slot), 0.0f);
+    Assert.assertEquals(0.0f, itemStates.getY(slot), 0.0f);
+    Assert.assertEquals(0.0f, itemStates.getZ(slot), 0.0f);
+    Assert.assertFalse(itemStates.isAttached(slot));
+    Assert.assertFalse(itemStates.isDrawn(slot));
+    Assert.assertTrue(itemStates.isMatrixDirty(slot));
+  }
+
+  @Test
+  public void clearReleasesAllTheSlots()
+  {
+    itemStates.allocate();
+    itemStates.allocate();
+    itemStates.release(0);
+    itemStates.clear();
+
+    Assert.assertEquals(0, itemStates.getSlotCount());
+    Assert.assertEquals(0, itemStates.allocate());
+    Assert.assertEquals(1, itemStates.allocate());
+  }
+
+  @Test
+  public void growthKeepsTheStateOfEverySlot()
+  {
+    final int slotCount = 100;
+    final float[][] matrices = new float[slotCount][Projection.MATRIX_SIZE];
+    final float[][] quads = new float[slotCount][];
+
+    // Several growths, each of them filling the new slots before the next one
+    for (int slot = 0; slot < slotCount; slot++)
+    {
+      Assert.assertEquals(slot, itemStates.allocate());
+      setState(slot, slot);
+
+      if (slot % 2 == 0)
+      {
+        itemStates.computeMatrix(slot, 540.0f, 300.0f, slot, 2 * slot, ItemStatesTest.WIDTH, 100.0f);
+        itemStates.getMatrix(slot, matrices[slot]);
+        quads[slot] = getQuad(slot);
+      }
+    }
+
+    for (int slot = 0; slot < slotCount; slot++)
+    {
+      Assert.assertEquals(slot, itemStates.getPosition(slot));
+      Assert.assertEquals(slot + 1, itemStates.getWidth(slot));
+      Assert.assertEquals(slot + 2, itemStates.getRingVersion(slot));
+      Assert.assertEquals(slot + 3.0f, itemStates.getAngle(slot), 0.0f);
+      Assert.assertEquals(slot + 4.0f, itemStates.getTransitionAngle(slot), 0.0f);
+      Assert.assertEquals(slot + 5.0f, itemStates.getX(slot), 0.0f);
+      Assert.assertEquals(slot + 6.0f, itemStates.getY(slot), 0.0f);
+      Assert.assertEquals(slot + 7.0f, itemStates.getZ(slot), 0.0f);
+      Assert.assertEquals(slot % 3 == 0, itemStates.isAttached(slot));
+      Assert.assertEquals(slot % 5 == 0, itemStates.isDrawn(slot));
+      Assert.assertEquals(slot % 2 != 0, itemStates.isMatrixDirty(slot));
+
+      if (slot % 2 == 0)
+      {
+        final float[] matrix = new float[Projection.MATRIX_SIZE];
+        itemStates.getMatrix(slot, matrix);
+
+        Assert.assertArrayEquals(matrices[slot], matrix, 0.0f);
+        Assert.assertArrayEquals(quads[slot], getQuad(slot), 0.0f);
+      }
+    }
+  }
+
+  @Test
+  public void updatePositionsComputesTheAttachedSlots()
+  {
+    final int attachedSlot = attach(3);
+    final int detachedSlot = itemStates.allocate();
+    itemStates.setPosition(detachedSlot, 4);
+
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    assertPosition(attachedSlot, RingGeometry.getAngle(30.0f, 3, ItemStatesTest.COUNT));
+    Assert.assertEquals(1, itemStates.getRingVersion(attachedSlot));
+    Assert.assertEquals(-1, itemStates.getRingVersion(detachedSlot));
+    Assert.assertEquals(0.0f, itemStates.getZ(detachedSlot), 0.0f);
+  }
+
+  @Test
+  public void updatePositionsSkipsARingVersionAlreadyComputed()
+  {
+    final int slot = attach(3);
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    final float z = itemStates.getZ(slot);
+
+    // A new position alone does not make the slot stale
+    itemStates.setPosition(slot, 6);
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    Assert.assertEquals(z, itemStates.getZ(slot), 0.0f);
+
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 2, 0.0f);
+
+    assertPosition(slot, RingGeometry.getAngle(30.0f, 6, ItemStatesTest.COUNT));
+  }
+
+  @Test
+  public void attachingAStaleSlotUpdatesItWithinTheSameRingVersion()
+  {
+    attach(3);
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    final int slot = attach(5);
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    assertPosition(slot, RingGeometry.getAngle(30.0f, 5, ItemStatesTest.COUNT));
+  }
+
+  @Test
+  public void staleRingVersionOfAnAttachedSlotUpdatesIt()
+  {
+    final int slot = attach(3);
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    itemStates.setPosition(slot, 6);
+    itemStates.setRingVersion(slot, -1);
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    assertPosition(slot, RingGeometry.getAngle(30.0f, 6, ItemStatesTest.COUNT));
+  }
+
+  @Test
+  public void staleDetachedSlotIsOnlyUpdatedOnceAttached()
+  {
+    attach(3);
+    final int slot = itemStates.allocate();
+    itemStates.setPosition(slot, 5);
+    itemStates.setWidth(slot, ItemStatesTest.WIDTH);
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    itemStates.setRingVersion(slot, -1);
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    Assert.assertEquals(-1, itemStates.getRingVersion(slot));
+    Assert.assertEquals(0.0f, itemStates.getZ(slot), 0.0f);
+
+    itemStates.setAttached(slot, true);
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+
+    Assert.assertEquals(1, itemStates.getRingVersion(slot));
+    assertPosition(slot, RingGeometry.getAngle(30.0f, 5, ItemStatesTest.COUNT));
+  }
+
+  @Test
+  public void transitionAngleMovesTheItemOutOfItsSlot()
+  {
+    final int slot = attach(3);
+    itemStates.setTransitionAngle(slot, 40.0f);
+
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.25f);
+
+    assertPosition(slot, RingGeometry.normalizeAngle(RingGeometry.getAngle(30.0f, 3, ItemStatesTest.COUNT) + 10.0f));
+
+    // Once the transition is over, the item is in its slot
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 2, 0.0f);
+
+    assertPosition(slot, RingGeometry.getAngle(30.0f, 3, ItemStatesTest.COUNT));
+  }
+
+  @Test
+  public void matrixIsDirtyOnlyWhenACoordinateChanges()
+  {
+    final int slot = attach(3);
+
+    Assert.assertTrue(itemStates.isMatrixDirty(slot));
+
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 1, 0.0f);
+    computeMatrix(slot);
+
+    Assert.assertFalse(itemStates.isMatrixDirty(slot));
+
+    // The same coordinates
+    itemStates.setX(slot, itemStates.getX(slot));
+    itemStates.setY(slot, itemStates.getY(slot));
+    itemStates.setZ(slot, itemStates.getZ(slot));
+    itemStates.updatePositions(geometry, 30.0f, ItemStatesTest.COUNT, 2, 0.0f);
+
+    Assert.assertFalse(itemStates.isMatrixDirty(slot));
+
+    // Neither the angle nor the drawn flag are coordinates
+    itemStates.setAngle(slot, 12.0f);
+    itemStates.setDrawn(slot, true);
+
+    Assert.assertFalse(itemStates.isMatrixDirty(slot));
+
+    for (int coordinate = 0; coordinate < 3; coordinate++)
+    {
+      computeMatrix(slot);
+
+      if (coordinate == 0)
+      {
+        itemStates.setX(slot, itemStates.getX(slot) + 1.0f);
+      }
+      else if (coordinate == 1)
+      {
+        itemStates.setY(slot, itemStates.getY(slot) + 1.0f);
+      }
+      else
+      {
+        itemStates.setZ(slot, itemStates.getZ(slot) + 1.0f);
+      }
+
+      Assert.assertTrue(itemStates.isMatrixDirty(slot));
+    }
+
+    // The ring rotated
+    computeMatrix(slot);
+    itemStates.updatePositions(geometry, 31.0f, ItemStatesTest.COUNT, 3, 0.0f);
+
+    Assert.assertTrue(itemStates.isMatrixDirty(slot));
+
+    computeMatrix(slot);
+    itemStates.invalidateMatrix(slot);
+
+    Assert.assertTrue(itemStates.isMatrixDirty(slot));
+  }
+
+  /**
+   * @return A new attached slot for the given position
+   */
+  private int attach(int position)
+  {
+    final int slot = itemStates.allocate();
+    itemStates.setPosition(slot, position);
+    itemStates.setWidth(slot, ItemStatesTest.WIDTH);
+    itemStates.setAttached(slot, true);
+    return slot;
+  }
+
+  /**
+   * Gives every field of a slot a value derived from the given seed
+   */
+  private void setState(int slot, int seed)
+  {
+    itemStates.setPosition(slot, seed);
+    itemStates.setWidth(slot, seed + 1);
+    itemStates.setRingVersion(slot, seed + 2);
+    itemStates.setAngle(slot, seed + 3.0f);
+    itemStates.setTransitionAngle(slot, seed + 4.0f);
+    itemStates.setX(slot, seed + 5.0f);
+    itemStates.setY(slot, seed + 6.0f);
+    itemStates.setZ(slot, seed + 7.0f);
+    itemStates.setAttached(slot, seed % 3 == 0);
+    itemStates.setDrawn(slot, seed % 5 == 0);
+  }
+
+  private void computeMatrix(int slot)
+  {
+    itemStates.computeMatrix(slot, 540.0f, 300.0f, 0.0f, 0.0f, ItemStatesTest.WIDTH, 100.0f);
+  }
+
+  private float[] getQuad(int slot)
+  {
+    final int offset = slot * HitTester.QUAD_SIZE;
+
+    return Arrays.copyOfRange(itemStates.getQuads(), offset, offset + HitTester.QUAD_SIZE);
+  }
+
+  /**
+   * Checks that a slot holds the angle and the position computed by the ring math for an item at the given angle
+   */
+  private void assertPosition(int slot, float angle)
+  {
+    geometry.computePositionAtAngle(angle, ItemStatesTest.WIDTH, position3D, 0);
+
+    Assert.assertEquals(angle, itemStates.getAngle(slot), 1e-4f);
+    Assert.assertEquals(position3D[0], itemStates.getX(slot), 1e-3f);
+    Assert.assertEquals(position3D[1], itemStates.getY(slot), 1e-3f);
+    Assert.assertEquals(position3D[2], itemStates.getZ(slot), 1e-3f);
+  }
+
+}
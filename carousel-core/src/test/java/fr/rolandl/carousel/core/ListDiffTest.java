@@ -0,0 +1,338 @@
+package fr.rolandl.carousel.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks that replaying the dispatched updates on the old list rebuilds the new one, and that the number of removed and inserted items is the
+ * smallest one, given by the longest common subsequence of the two lists.
+ */
+public final class ListDiffTest
+{
+
+  /**
+   * An item whose identity is its id, and whose content is its version
+   */
+  private static final class Item
+  {
+
+    final int id;
+
+    final int version;
+
+    Item(int id, int version)
+    {
+      this.id = id;
+      this.version = version;
+    }
+
+    @Override
+    public String toString()
+    {
+      return id + "v" + version;
+    }
+
+  }
+
+  private static final ListDiff.ItemCallback<Item> CALLBACK = new ListDiff.ItemCallback<Item>()
+  {
+    @Override
+    public boolean areItemsTheSame(Item oldItem, Item newItem)
+    {
+      return oldItem.id == newItem.id;
+    }
+
+    @Override
+    public boolean areContentsTheSame(Item oldItem, Item newItem)
+    {
+      return oldItem.version == newItem.version;
+    }
+  };
+
+  /**
+   * Replays the updates on a copy of the old list: the inserted items are placeholders, and the changed items are flagged
+   */
+  private static final class Replay
+      implements ListDiff.ListUpdateCallback
+  {
+
+    /**
+     * The items of the old list, or null for the inserted items
+     */
+    final List<Item> items;
+
+    final List<Boolean> changed;
+
+    int removedCount;
+
+    int insertedCount;
+
+    int changedCount;
+
+    int position = Integer.MAX_VALUE;
+
+    Replay(List<Item> oldList)
+    {
+      items = new ArrayList<>(oldList);
+      changed = new ArrayList<>(Collections.nCopies(oldList.size(), false));
+    }
+
+    @Override
+    public void onInserted(int position, int count)
+    {
+      checkPosition(position);
+
+      for (int i = 0; i < count; i++)
+      {
+        items.add(position, null);
+        changed.add(position, false);
+      }
+
+      insertedCount += count;
+    }
+
+    @Override
+    public void onRemoved(int position, int count)
+    {
+      checkPosition(position);
+      Assert.assertTrue(position + count <= items.size());
+
+      for (int i = 0; i < count; i++)
+      {
+        items.remove(position);
+        changed.remove(position);
+      }
+
+      removedCount += count;
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition)
+    {
+      Assert.fail("A move is dispatched as a removal and an insertion");
+    }
+
+    @Override
+    public void onChanged(int position, int count)
+    {
+      checkPosition(position);
+
+      for (int i = 0; i < count; i++)
+      {
+        Assert.assertNotNull("An inserted item is reported as changed", items.get(position + i));
+        changed.set(position + i, true);
+      }
+
+      changedCount += count;
+    }
+
+    /**
+     * The updates go from the end of the lists to their beginning
+     */
+    private void checkPosition(int position)
+    {
+      Assert.assertTrue(position >= 0 && position <= items.size());
+      Assert.assertTrue("The updates are not dispatched backwards", position <= this.position);
+      this.position = position;
+    }
+
+  }
+
+  @Test
+  public void emptyListsDispatchNothing()
+  {
+    final Replay replay = assertRebuilds(ListDiffTest.items(), ListDiffTest.items());
+
+    Assert.assertEquals(0, replay.insertedCount + replay.removedCount + replay.changedCount);
+  }
+
+  @Test
+  public void identicalListsDispatchNothing()
+  {
+    final Replay replay = assertRebuilds(ListDiffTest.items(1, 2, 3), ListDiffTest.items(1, 2, 3));
+
+    Assert.assertEquals(0, replay.insertedCount + replay.removedCount + replay.changedCount);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void listCannotBeDiffedWithItself()
+  {
+    final List<Item> list = ListDiffTest.items(1, 2, 3);
+
+    ListDiff.dispatch(list, list, ListDiffTest.CALLBACK, new Replay(list));
+  }
+
+  @Test
+  public void allInserted()
+  {
+    final Replay replay = assertRebuilds(ListDiffTest.items(), ListDiffTest.items(1, 2, 3, 4));
+
+    Assert.assertEquals(4, replay.insertedCount);
+    Assert.assertEquals(0, replay.removedCount);
+  }
+
+  @Test
+  public void allRemoved()
+  {
+    final Replay replay = assertRebuilds(ListDiffTest.items(1, 2, 3, 4), ListDiffTest.items());
+
+    Assert.assertEquals(0, replay.insertedCount);
+    Assert.assertEquals(4, replay.removedCount);
+  }
+
+  @Test
+  public void allReplaced()
+  {
+    final Replay replay = assertRebuilds(ListDiffTest.items(1, 2, 3), ListDiffTest.items(4, 5));
+
+    Assert.assertEquals(2, replay.insertedCount);
+    Assert.assertEquals(3, replay.removedCount);
+  }
+
+  @Test
+  public void moveIsARemovalAndAnInsertion()
+  {
+    final Replay replay = assertRebuilds(ListDiffTest.items(1, 2, 3, 4, 5), ListDiffTest.items(1, 3, 4, 5, 2));
+
+    Assert.assertEquals(1, replay.insertedCount);
+    Assert.assertEquals(1, replay.removedCount);
+    Assert.assertEquals(0, replay.changedCount);
+  }
+
+  @Test
+  public void changeOnlyUpdate()
+  {
+    final List<Item> newList = ListDiffTest.items(1, 2, 3, 4);
+    newList.set(1, new Item(2, 1));
+    newList.set(3, new Item(4, 1));
+
+    final Replay replay = assertRebuilds(ListDiffTest.items(1, 2, 3, 4), newList);
+
+    Assert.assertEquals(0, replay.insertedCount + replay.removedCount);
+    Assert.assertEquals(2, replay.changedCount);
+    Assert.assertEquals(Arrays.asList(false, true, false, true), replay.changed);
+  }
+
+  @Test
+  public void randomUpdatesAreRebuiltWithTheFewestRemovalsAndInsertions()
+  {
+    final Random random = new Random(16L);
+
+    for (int round = 0; round < 2000; round++)
+    {
+      // Few ids so the lists share many items, in any order
+      final int idCount = 1 + random.nextInt(12);
+      final List<Item> oldList = ListDiffTest.randomList(random, random.nextInt(15), idCount);
+      final List<Item> newList = ListDiffTest.randomList(random, random.nextInt(15), idCount);
+      final Replay replay = assertRebuilds(oldList, newList);
+      final int commonLength = ListDiffTest.getLongestCommonSubsequenceLength(oldList, newList);
+
+      Assert.assertEquals(oldList + " -> " + newList, oldList.size() - commonLength, replay.removedCount);
+      Assert.assertEquals(oldList + " -> " + newList, newList.size() - commonLength, replay.insertedCount);
+    }
+  }
+
+  @Test
+  public void fewChangesInALongList()
+  {
+    final List<Item> oldList = new ArrayList<>();
+
+    for (int id = 0; id < 5000; id++)
+    {
+      oldList.add(new Item(id, 0));
+    }
+
+    final List<Item> newList = new ArrayList<>(oldList);
+    newList.remove(4000);
+    newList.add(2500, new Item(-1, 0));
+    newList.set(10, new Item(10, 1));
+    newList.remove(0);
+    newList.add(new Item(-2, 0));
+
+    final Replay replay = assertRebuilds(oldList, newList);
+
+    Assert.assertEquals(2, replay.removedCount);
+    Assert.assertEquals(2, replay.insertedCount);
+    Assert.assertEquals(1, replay.changedCount);
+  }
+
+  /**
+   * Dispatches the updates, replays them on the old list and checks that each item is the one of the new list, flagged as changed if its content
+   * differs
+   */
+  private static Replay assertRebuilds(List<Item> oldList, List<Item> newList)
+  {
+    final Replay replay = new Replay(oldList);
+    ListDiff.dispatch(oldList, newList, ListDiffTest.CALLBACK, replay);
+
+    Assert.assertEquals(newList.size(), replay.items.size());
+
+    for (int i = 0; i < newList.size(); i++)
+    {
+      final Item item = replay.items.get(i);
+
+      if (item != null)
+      {
+        Assert.assertEquals(oldList + " -> " + newList + " at " + i, newList.get(i).id, item.id);
+        Assert.assertEquals(item.version != newList.get(i).version, replay.changed.get(i));
+      }
+    }
+
+    return replay;
+  }
+
+  private static List<Item> items(int... ids)
+  {
+    final List<Item> items = new ArrayList<>();
+
+    for (final int id : ids)
+    {
+      items.add(new Item(id, 0));
+    }
+
+    return items;
+  }
+
+  private static List<Item> randomList(Random random, int size, int idCount)
+  {
+    final List<Item> items = new ArrayList<>();
+
+    for (int i = 0; i < size; i++)
+    {
+      items.add(new Item(random.nextInt(idCount), random.nextInt(2)));
+    }
+
+    return items;
+  }
+
+  private static int getLongestCommonSubsequenceLength(List<Item> oldList, List<Item> newList)
+  {
+    final int[][] lengths = new int[oldList.size() + 1][newList.size() + 1];
+
+    for (int i = 1; i <= oldList.size(); i++)
+    {
+      for (int j = 1; j <= newList.size(); j++)
+      {
+        if (oldList.get(i - 1).id == newList.get(j - 1).id)
+        {
+          lengths[i][j] = lengths[i - 1][j - 1] + 1;
+        }
+        else
+        {
+          lengths[i][j] = Math.max(lengths[i - 1][j], lengths[i][j - 1]);
+        }
+      }
+    }
+
+    return lengths[oldList.size()][newList.size()];
+  }
+
+}
@@ -0,0 +1,138 @@
+package fr.rolandl.carousel.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks that every motion starts from rest or from the given velocity, that its velocity is the derivative of its angle, and that a rotation driven
+ * by it ends exactly on its target.
+ */
+public final class MotionTest
+{
+
+  private static final long NANOS_PER_MILLI = 1000000L;
+
+  /**
+   * The duration of a display frame, in nanoseconds
+   */
+  private static final long FRAME_NANOS = 16666667L;
+
+  private static final float[] DELTA_ANGLES = { -400.0f, -72.0f, -0.5f, 0.5f, 10.0f, 72.0f, 400.0f };
+
+  private static final int DURATION = 400;
+
+  @Test
+  public void linearMotionEndsOnItsTarget()
+  {
+    assertEndsOnTarget(new LinearMotion(), 0.0f);
+  }
+
+  @Test
+  public void decelerateMotionEndsOnItsTarget()
+  {
+    assertEndsOnTarget(new DecelerateMotion(), 0.0f);
+    assertEndsOnTarget(new DecelerateMotion(1.5f), 0.0f);
+  }
+
+  @Test
+  public void overshootMotionEndsOnItsTarget()
+  {
+    assertEndsOnTarget(new OvershootMotion(), 0.0f);
+    assertEndsOnTarget(new OvershootMotion(0.0f), 0.0f);
+  }
+
+  @Test
+  public void springMotionEndsOnItsTarget()
+  {
+    assertEndsOnTarget(new SpringMotion(), 0.0f);
+    assertEndsOnTarget(new SpringMotion(), 300.0f);
+    assertEndsOnTarget(new SpringMotion(), -300.0f);
+    assertEndsOnTarget(new SpringMotion(50.0f), 1000.0f);
+  }
+
+  @Test
+  public void springMotionStartsWithTheGivenVelocity()
+  {
+    final Motion motion = new SpringMotion();
+
+    for (final float velocity : new float[] { -500.0f, 0.0f, 120.0f })
+    {
+      motion.start(72.0f, velocity, 0L);
+
+      Assert.assertEquals(0.0f, motion.getAngle(0L), 1e-4f);
+      Assert.assertEquals(velocity, motion.getVelocity(0L), 1e-2f);
+    }
+  }
+
+  @Test
+  public void interpolatedMotionsLastTheRequestedDuration()
+  {
+    for (final Motion motion : new Motion[] { new LinearMotion(), new DecelerateMotion(), new OvershootMotion() })
+    {
+      Assert.assertEquals(MotionTest.DURATION * MotionTest.NANOS_PER_MILLI, motion.start(72.0f, 0.0f, MotionTest.DURATION * MotionTest.NANOS_PER_MILLI));
+    }
+  }
+
+  @Test
+  public void velocityIsTheDerivativeOfTheAngle()
+  {
+    final long stepNanos = 100000L;
+
+    final Motion[] motions = { new LinearMotion(), new DecelerateMotion(), new DecelerateMotion(1.5f), new OvershootMotion(), new SpringMotion() };
+
+    for (final Motion motion : motions)
+    {
+      final long durationNanos = motion.start(72.0f, 100.0f, MotionTest.DURATION * MotionTest.NANOS_PER_MILLI);
+
+      for (long time = stepNanos; time < durationNanos - stepNanos; time += durationNanos / 37)
+      {
+        final float derivative = (float) ((motion.getAngle(time + stepNanos) - motion.getAngle(time - stepNanos)) * 1e9 / (2 * stepNanos));
+
+        Assert.assertEquals(motion.getClass().getSimpleName() + " at " + time, derivative, motion.getVelocity(time), 0.5f);
+      }
+    }
+  }
+
+  /**
+   * Starts a rotation for each angle, steps it frame by frame, and checks that the angle gets close to the target before the last frame and is
+   * exactly the target on the last one
+   */
+  private static void assertEndsOnTarget(Motion motion, float velocity)
+  {
+    for (final float deltaAngle : MotionTest.DELTA_ANGLES)
+    {
+      final Rotation rotation = new Rotation();
+      final float startAngle = 30.0f;
+      final float targetAngle = startAngle + deltaAngle;
+      final long startTime = 1000L * MotionTest.NANOS_PER_MILLI;
+
+      rotation.setMotion(motion);
+      rotation.startRotate(startTime, startAngle, deltaAngle, MotionTest.DURATION, velocity);
+
+      long time = startTime;
+      float previousAngle = startAngle;
+      float largestStep = 0.0f;
+
+      while (rotation.computeAngleOffset(time) == true)
+      {
+        largestStep = Math.max(largestStep, Math.abs(rotation.getCurrAngle() - previousAngle));
+        previousAngle = rotation.getCurrAngle();
+        time += MotionTest.FRAME_NANOS;
+
+        Assert.assertTrue("Does not end", time - startTime < 20000L * MotionTest.NANOS_PER_MILLI);
+      }
+
+      Assert.assertEquals(targetAngle, rotation.getCurrAngle(), 0.0f);
+      Assert.assertEquals(targetAngle, rotation.getFinalAngle(), 0.0f);
+      Assert.assertTrue(rotation.isFinished());
+
+      // The last frame does not jump
+      Assert.assertTrue(motion.getClass().getSimpleName() + " jumps by " + (targetAngle - previousAngle),
+          Math.abs(targetAngle - previousAngle) <= largestStep + 1e-3f);
+    }
+  }
+
+}
@@ -0,0 +1,187 @@
+package fr.rolandl.carousel.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks that the closed form of the projection gives the matrix an {@code android.graphics.Camera} at its default location gave for a translated
+ * item, once centered on the carousel, as computed by the Skia camera behind it.
+ */
+public final class ProjectionTest
+{
+
+  private static final float CENTER_X = 540.0f;
+
+  private static final float CENTER_Y = 300.0f;
+
+  private static final float[] IDENTITY = { 1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 1.0f };
+
+  @Test
+  public void itemAtTheOriginIsNotTransformed()
+  {
+    Assert.assertArrayEquals(ProjectionTest.IDENTITY, computeMatrix(0.0f, 0.0f, 0.0f), 0.0f);
+  }
+
+  @Test
+  public void itemOnTheScreenPlaneIsOnlyTranslated()
+  {
+    // The y axis of the camera points up
+    Assert.assertArrayEquals(new float[] { 1.0f, 0.0f, 120.0f, 0.0f, 1.0f, 45.0f, 0.0f, 0.0f, 1.0f }, computeMatrix(120.0f, -45.0f, 0.0f), 1e-4f);
+  }
+
+  @Test
+  public void scaleHalvesAtTheDistanceOfTheCamera()
+  {
+    Assert.assertEquals(1.0f, Projection.getScale(0.0f), 0.0f);
+    Assert.assertEquals(0.5f, Projection.getScale(576.0f), 0.0f);
+    Assert.assertEquals(0.25f, Projection.getScale(3 * 576.0f), 0.0f);
+    Assert.assertEquals(2.0f, Projection.getScale(-288.0f), 0.0f);
+
+    for (float z = -500.0f; z <= 2000.0f; z += 37.5f)
+    {
+      Assert.assertEquals(576.0f / (576.0f + z), Projection.getScale(z), 1e-6f);
+    }
+  }
+
+  @Test
+  public void itemIsScaledAroundTheCenterOfTheCarousel()
+  {
+    final float[] matrix = computeMatrix(0.0f, 0.0f, 576.0f);
+    final float[] point = new float[2];
+
+    HitTester.mapPoint(matrix, 0, ProjectionTest.CENTER_X, ProjectionTest.CENTER_Y, point, 0);
+
+    Assert.assertEquals(ProjectionTest.CENTER_X, point[0], 1e-4f);
+    Assert.assertEquals(ProjectionTest.CENTER_Y, point[1], 1e-4f);
+
+    HitTester.mapPoint(matrix, 0, ProjectionTest.CENTER_X + 100.0f, ProjectionTest.CENTER_Y - 60.0f, point, 0);
+
+    Assert.assertEquals(ProjectionTest.CENTER_X + 50.0f, point[0], 1e-4f);
+    Assert.assertEquals(ProjectionTest.CENTER_Y - 30.0f, point[1], 1e-4f);
+  }
+
+  @Test
+  public void matrixIsTheOneOfTheCamera()
+  {
+    final float[] coordinates = { -800.0f, -250.0f, -1.5f, 0.0f, 0.5f, 90.0f, 540.0f, 1080.0f };
+    final float[] depths = { -300.0f, -1.0f, 0.0f, 1.0f, 100.0f, 540.0f, 1080.0f, 5000.0f };
+
+    for (final float x : coordinates)
+    {
+      for (final float y : coordinates)
+      {
+        for (final float z : depths)
+        {
+          final float[] expected = ProjectionTest.getCameraMatrix(x, y, z, ProjectionTest.CENTER_X, ProjectionTest.CENTER_Y);
+          final float[] actual = computeMatrix(x, y, z);
+
+          for (int i = 0; i < Projection.MATRIX_SIZE; i++)
+          {
+            Assert.assertEquals("At (" + x + ", " + y + ", " + z + ")[" + i + "]", expected[i], actual[i], 1e-3f + Math.abs(expected[i]) * 1e-5f);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void matrixIsWrittenAtItsOffset()
+  {
+    final float[] matrices = new float[3 * Projection.MATRIX_SIZE];
+    Projection.computeMatrix(10.0f, 20.0f, 30.0f, ProjectionTest.CENTER_X, ProjectionTest.CENTER_Y, matrices, Projection.MATRIX_SIZE);
+
+    final float[] matrix = new float[Projection.MATRIX_SIZE];
+    System.arraycopy(matrices, Projection.MATRIX_SIZE, matrix, 0, Projection.MATRIX_SIZE);
+
+    Assert.assertArrayEquals(computeMatrix(10.0f, 20.0f, 30.0f), matrix, 0.0f);
+
+    for (int i = 0; i < Projection.MATRIX_SIZE; i++)
+    {
+      Assert.assertEquals(0.0f, matrices[i], 0.0f);
+      Assert.assertEquals(0.0f, matrices[2 * Projection.MATRIX_SIZE + i], 0.0f);
+    }
+  }
+
+  private float[] computeMatrix(float x, float y, float z)
+  {
+    final float[] matrix = new float[Projection.MATRIX_SIZE];
+    Projection.computeMatrix(x, y, z, ProjectionTest.CENTER_X, ProjectionTest.CENTER_Y, matrix, 0);
+    return matrix;
+  }
+
+  /**
+   * Computes the matrix the carousel used to get from its camera: {@code camera.translate(x, y, z)}, {@code camera.getMatrix(matrix)}, then
+   * {@code matrix.preTranslate(-centerX, -centerY)} and {@code matrix.postTranslate(centerX, centerY)}. The camera matrix follows the general math of
+   * the Skia camera (SkCamera3D), whose observer is at its default location and whose patch is the unit patch translated to (x, y, z).
+   */
+  private static float[] getCameraMatrix(float x, float y, float z, float centerX, float centerY)
+  {
+    // The default camera: 8 inches in front of the screen, looking along z, its zenith along -y
+    final double[] observer = { 0.0, 0.0, -576.0 };
+    final double[] axis = { 0.0, 0.0, 1.0 };
+    final double[] zenith = { 0.0, -1.0, 0.0 };
+    final double[] cross = { axis[1] * zenith[2] - axis[2] * zenith[1], axis[2] * zenith[0] - axis[0] * zenith[2], axis[0] * zenith[1] - axis[1] * zenith[0] };
+
+    final double[][] orientation = new double[3][3];
+
+    for (int i = 0; i < 3; i++)
+    {
+      orientation[0][i] = observer[0] * axis[i] - observer[2] * cross[i];
+      orientation[1][i] = observer[1] * axis[i] - observer[2] * zenith[i];
+      orientation[2][i] = axis[i];
+    }
+
+    // The unit patch, whose v axis points down, translated to the coordinates of the item
+    final double[] u = { 1.0, 0.0, 0.0 };
+    final double[] v = { 0.0, -1.0, 0.0 };
+    final double[] diff = { x - observer[0], y - observer[1], z - observer[2] };
+    final double dot = ProjectionTest.dot(diff, orientation[2]);
+
+    final double[] camera = { ProjectionTest.dot(u, orientation[0]) / dot, ProjectionTest.dot(v, orientation[0]) / dot,
+        ProjectionTest.dot(diff, orientation[0]) / dot, ProjectionTest.dot(u, orientation[1]) / dot, ProjectionTest.dot(v, orientation[1]) / dot,
+        ProjectionTest.dot(diff, orientation[1]) / dot, ProjectionTest.dot(u, orientation[2]) / dot, ProjectionTest.dot(v, orientation[2]) / dot, 1.0 };
+
+    final double[] preTranslate = { 1.0, 0.0, -centerX, 0.0, 1.0, -centerY, 0.0, 0.0, 1.0 };
+    final double[] postTranslate = { 1.0, 0.0, centerX, 0.0, 1.0, centerY, 0.0, 0.0, 1.0 };
+    final double[] matrix = ProjectionTest.multiply(postTranslate, ProjectionTest.multiply(camera, preTranslate));
+
+    final float[] values = new float[Projection.MATRIX_SIZE];
+
+    for (int i = 0; i < Projection.MATRIX_SIZE; i++)
+    {
+      values[i] = (float) matrix[i];
+    }
+
+    return values;
+  }
+
+  private static double dot(double[] lhs, double[] rhs)
+  {
+    return lhs[0] * rhs[0] + lhs[1] * rhs[1] + lhs[2] * rhs[2];
+  }
+
+  /**
+   * @return The product of two 3x3 matrices stored row by row
+   */
+  private static double[] multiply(double[] lhs, double[] rhs)
+  {
+    final double[] product = new double[9];
+
+    for (int row = 0; row < 3; row++)
+    {
+      for (int column = 0; column < 3; column++)
+      {
+        for (int i = 0; i < 3; i++)
+        {
+          product[row * 3 + column] += lhs[row * 3 + i] * rhs[i * 3 + column];
+        }
+      }
+    }
+
+    return product;
+  }
+
+}
@@ -0,0 +1,198 @@
+package fr.rolandl.carousel.core;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks the slot math of the ring: the snap and fling rotations, and the window of attached items of a virtualized carousel.
+ */
+public final class RingGeometryTest
+{
+
+  private static final float EPSILON = 1e-4f;
+
+  private static final int[] COUNTS = { 1, 2, 5, 7, 50, 500, 5000 };
+
+  @Test
+  public void snapRotationOfAnEmptyRingIsZero()
+  {
+    Assert.assertEquals(0.0f, RingGeometry.getSnapRotation(42.0f, 0), 0.0f);
+  }
+
+  @Test
+  public void snapRotationOfARingInItsSlotIsZero()
+  {
+    Assert.assertEquals(0.0f, RingGeometry.getSnapRotation(0.0f, 5), 0.0f);
+    Assert.assertEquals(0.0f, RingGeometry.getSnapRotation(72.0f, 5), RingGeometryTest.EPSILON);
+    Assert.assertEquals(0.0f, RingGeometry.getSnapRotation(-144.0f, 5), RingGeometryTest.EPSILON);
+  }
+
+  @Test
+  public void snapRotationGoesToTheNearestSlot()
+  {
+    // Slots every 72 degrees
+    Assert.assertEquals(-10.0f, RingGeometry.getSnapRotation(10.0f, 5), RingGeometryTest.EPSILON);
+    Assert.assertEquals(32.0f, RingGeometry.getSnapRotation(40.0f, 5), RingGeometryTest.EPSILON);
+    Assert.assertEquals(10.0f, RingGeometry.getSnapRotation(-10.0f, 5), RingGeometryTest.EPSILON);
+    Assert.assertEquals(-10.0f, RingGeometry.getSnapRotation(370.0f, 5), RingGeometryTest.EPSILON);
+  }
+
+  @Test
+  public void snapRotationHalfwayGoesBackward()
+  {
+    Assert.assertEquals(-36.0f, RingGeometry.getSnapRotation(36.0f, 5), RingGeometryTest.EPSILON);
+  }
+
+  @Test
+  public void snapRotationLandsOnASlotWithinHalfASlot()
+  {
+    final Random random = new Random(4L);
+
+    for (final int count : RingGeometryTest.COUNTS)
+    {
+      final float angleUnit = 360.0f / count;
+
+      for (int i = 0; i < 1000; i++)
+      {
+        final float ringAngle = (random.nextFloat() - 0.5f) * 720.0f;
+        final float rotation = RingGeometry.getSnapRotation(ringAngle, count);
+
+        Assert.assertTrue(rotation > -angleUnit / 2 - RingGeometryTest.EPSILON);
+        Assert.assertTrue(rotation <= angleUnit / 2 + RingGeometryTest.EPSILON);
+        assertOnSlot(ringAngle + rotation, count);
+      }
+    }
+  }
+
+  @Test
+  public void flingRotationWithoutVelocitySnaps()
+  {
+    Assert.assertEquals(RingGeometry.getSnapRotation(10.0f, 5), RingGeometry.getFlingRotation(10.0f, 5, 0.0f), 0.0f);
+    Assert.assertEquals(0.0f, RingGeometry.getFlingRotation(10.0f, 0, 100.0f), 0.0f);
+  }
+
+  @Test
+  public void flingRotationMovesAtLeastOneItem()
+  {
+    Assert.assertEquals(72.0f, RingGeometry.getFlingRotation(0.0f, 5, 10.0f), RingGeometryTest.EPSILON);
+    Assert.assertEquals(-72.0f, RingGeometry.getFlingRotation(0.0f, 5, -10.0f), RingGeometryTest.EPSILON);
+  }
+
+  @Test
+  public void flingRotationRestsOnTheNearestSlot()
+  {
+    Assert.assertEquals(216.0f, RingGeometry.getFlingRotation(0.0f, 5, 200.0f), RingGeometryTest.EPSILON);
+    Assert.assertEquals(134.0f, RingGeometry.getFlingRotation(10.0f, 5, 100.0f), RingGeometryTest.EPSILON);
+  }
+
+  @Test
+  public void flingRotationLandsOnASlotInTheDirectionOfTheFling()
+  {
+    final Random random = new Random(18L);
+
+    for (final int count : RingGeometryTest.COUNTS)
+    {
+      final float angleUnit = 360.0f / count;
+
+      for (int i = 0; i < 1000; i++)
+      {
+        final float ringAngle = random.nextFloat() * 360.0f;
+        final float naturalRotation = (random.nextFloat() - 0.5f) * 2000.0f;
+        final float rotation = RingGeometry.getFlingRotation(ringAngle, count, naturalRotation);
+
+        assertOnSlot(ringAngle + rotation, count);
+        Assert.assertTrue(Math.signum(rotation) == Math.signum(naturalRotation));
+
+        if (Math.abs(naturalRotation) > angleUnit * 2)
+        {
+          Assert.assertTrue(Math.abs(rotation - naturalRotation) <= angleUnit + RingGeometryTest.EPSILON);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void windowHalfSizeCoversTheVisibleArcAndThePrefetch()
+  {
+    // 180 degrees of 100 items is 50 items, 25 on each side of the front one
+    Assert.assertEquals(27, RingGeometry.getWindowHalfSize(180.0f, 2, 100));
+    Assert.assertEquals(25, RingGeometry.getWindowHalfSize(180.0f, 0, 100));
+    Assert.assertEquals(1, RingGeometry.getWindowHalfSize(1.0f, 0, 100));
+    Assert.assertEquals(0, RingGeometry.getWindowHalfSize(0.0f, 0, 10));
+  }
+
+  @Test
+  public void windowHalfSizeIsMinusOneWhenAllTheItemsFit()
+  {
+    Assert.assertEquals(-1, RingGeometry.getWindowHalfSize(180.0f, 2, 5));
+    Assert.assertEquals(-1, RingGeometry.getWindowHalfSize(360.0f, 0, 100));
+
+    // 2 * 2 + 1 items
+    Assert.assertEquals(-1, RingGeometry.getWindowHalfSize(0.0f, 2, 5));
+    Assert.assertEquals(2, RingGeometry.getWindowHalfSize(0.0f, 2, 6));
+  }
+
+  @Test
+  public void isInWindowWrapsAroundTheRing()
+  {
+    Assert.assertTrue(RingGeometry.isInWindow(0, 0, 1, 10));
+    Assert.assertTrue(RingGeometry.isInWindow(1, 0, 1, 10));
+    Assert.assertTrue(RingGeometry.isInWindow(9, 0, 1, 10));
+    Assert.assertFalse(RingGeometry.isInWindow(2, 0, 1, 10));
+    Assert.assertFalse(RingGeometry.isInWindow(8, 0, 1, 10));
+
+    Assert.assertTrue(RingGeometry.isInWindow(0, 8, 2, 10));
+    Assert.assertFalse(RingGeometry.isInWindow(1, 8, 2, 10));
+  }
+
+  @Test
+  public void isInWindowAcceptsEveryPositionWithoutAWindow()
+  {
+    for (int position = 0; position < 10; position++)
+    {
+      Assert.assertTrue(RingGeometry.isInWindow(position, 3, -1, 10));
+    }
+  }
+
+  @Test
+  public void isInWindowAcceptsExactlyTheWindowPositions()
+  {
+    final int count = 50;
+
+    for (int frontPosition = 0; frontPosition < count; frontPosition++)
+    {
+      for (int halfSize = 0; 2 * halfSize + 1 < count; halfSize++)
+      {
+        final boolean[] window = new boolean[count];
+
+        for (int offset = -halfSize; offset <= halfSize; offset++)
+        {
+          window[RingGeometry.getWindowPosition(frontPosition, offset, count)] = true;
+        }
+
+        for (int position = 0; position < count; position++)
+        {
+          Assert.assertEquals(window[position], RingGeometry.isInWindow(position, frontPosition, halfSize, count));
+        }
+      }
+    }
+  }
+
+  private static void assertOnSlot(float ringAngle, int count)
+  {
+    final double angleUnit = 360.0 / count;
+    double offset = ringAngle % angleUnit;
+
+    if (offset < 0.0)
+    {
+      offset += angleUnit;
+    }
+
+    Assert.assertTrue("Not on a slot: " + ringAngle, Math.min(offset, angleUnit - offset) < 1e-3);
+  }
+
+}
@@ -0,0 +1,211 @@
+package fr.rolandl.carousel.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks that a retargeted rotation continues from the angle and the velocity it had when it has been redirected, and that the retargeted rotations
+ * and the flings end exactly on their target.
+ */
+public final class RotationTest
+{
+
+  private static final long NANOS_PER_MILLI = 1000000L;
+
+  /**
+   * The duration of a display frame, in nanoseconds
+   */
+  private static final long FRAME_NANOS = 16666667L;
+
+  private static final long START_TIME = 1000L * RotationTest.NANOS_PER_MILLI;
+
+  @Test
+  public void retargetKeepsTheAngleAndTheVelocity()
+  {
+    for (final Motion motion : RotationTest.motions())
+    {
+      final Rotation rotation = new Rotation();
+      rotation.setMotion(motion);
+      rotation.startRotate(RotationTest.START_TIME, 0.0f, 400.0f, 1000);
+
+      long time = RotationTest.START_TIME;
+
+      for (final float targetAngle : new float[] { -400.0f, 720.0f, 100.0f, 110.0f })
+      {
+        time = stepFrames(rotation, time, 7);
+        final float angle = rotation.getCurrAngle();
+        final float velocity = rotation.getCurrVelocity(time);
+
+        rotation.retarget(time, targetAngle, 800);
+        rotation.computeAngleOffset(time);
+
+        final String message = motion.getClass().getSimpleName() + " to " + targetAngle;
+
+        Assert.assertEquals(message, angle, rotation.getCurrAngle(), 1e-3f);
+        Assert.assertEquals(message, velocity, rotation.getCurrVelocity(time), Math.max(1e-2f, Math.abs(velocity) * 1e-4f));
+        Assert.assertEquals(message, targetAngle, rotation.getFinalAngle(), 0.0f);
+      }
+
+      assertEndsOn(rotation, 110.0f);
+    }
+  }
+
+  @Test
+  public void retargetedVelocityIsTheDerivativeOfTheAngle()
+  {
+    final long stepNanos = 100000L;
+
+    for (final Motion motion : RotationTest.motions())
+    {
+      final Rotation rotation = new Rotation();
+      rotation.setMotion(motion);
+      rotation.startRotate(RotationTest.START_TIME, 0.0f, 400.0f, 1000);
+
+      final long retargetTime = stepFrames(rotation, RotationTest.START_TIME, 10);
+      rotation.retarget(retargetTime, -200.0f, 800);
+
+      final long durationNanos = rotation.getDuration() * RotationTest.NANOS_PER_MILLI;
+
+      for (long time = retargetTime + stepNanos; time < retargetTime + durationNanos - stepNanos; time += durationNanos / 37)
+      {
+        rotation.computeAngleOffset(time + stepNanos);
+        final float nextAngle = rotation.getCurrAngle();
+        rotation.computeAngleOffset(time - stepNanos);
+        final float previousAngle = rotation.getCurrAngle();
+        final float derivative = (float) ((nextAngle - previousAngle) * 1e9 / (2 * stepNanos));
+
+        Assert.assertEquals(motion.getClass().getSimpleName() + " at " + time, derivative, rotation.getCurrVelocity(time), 0.5f);
+      }
+    }
+  }
+
+  @Test
+  public void retargetToTheSameTargetDoesNotRestart()
+  {
+    final Rotation rotation = new Rotation();
+    rotation.startRotate(RotationTest.START_TIME, 0.0f, 400.0f, 1000);
+
+    final long time = stepFrames(rotation, RotationTest.START_TIME, 5);
+    final long duration = rotation.getDuration();
+
+    rotation.retarget(time, 400.0f + 1e-5f, 800);
+
+    Assert.assertEquals(duration, rotation.getDuration());
+    Assert.assertEquals(0.0f, rotation.getStartAngle(), 0.0f);
+    assertEndsOn(rotation, 400.0f);
+  }
+
+  @Test
+  public void retargetOfAFinishedRotationStartsFromItsAngle()
+  {
+    final Rotation rotation = new Rotation();
+    rotation.startRotate(RotationTest.START_TIME, 0.0f, 72.0f, 200);
+
+    final long time = stepFrames(rotation, RotationTest.START_TIME, 100);
+
+    Assert.assertTrue(rotation.isFinished());
+
+    rotation.retarget(time, 144.0f, 200);
+
+    Assert.assertFalse(rotation.isFinished());
+    Assert.assertEquals(72.0f, rotation.getStartAngle(), 0.0f);
+    Assert.assertEquals(72.0f, rotation.getCurrAngle(), 0.0f);
+    assertEndsOn(rotation, 144.0f);
+  }
+
+  @Test
+  public void flingEndsOnItsTarget()
+  {
+    for (final float deltaAngle : new float[] { -720.0f, -72.0f, -0.5f, 0.5f, 72.0f, 720.0f })
+    {
+      for (final float velocity : new float[] { 0.0f, 100.0f, -2000.0f, 5000.0f })
+      {
+        final Rotation rotation = new Rotation();
+        rotation.fling(RotationTest.START_TIME, 30.0f, deltaAngle, velocity, Rotation.DEFAULT_FLING_DECELERATION);
+
+        assertEndsOn(rotation, 30.0f + deltaAngle);
+      }
+    }
+  }
+
+  @Test
+  public void flingStartsWithTheGivenVelocityIfItIsEnough()
+  {
+    final float deceleration = Rotation.DEFAULT_FLING_DECELERATION;
+
+    for (final float deltaAngle : new float[] { -720.0f, -72.0f, 72.0f, 720.0f })
+    {
+      for (final float velocity : new float[] { 0.0f, 100.0f, -2000.0f, 5000.0f })
+      {
+        final Rotation rotation = new Rotation();
+        rotation.fling(RotationTest.START_TIME, 30.0f, deltaAngle, velocity, deceleration);
+
+        final float speed = (float) Math.max(Math.abs(velocity), Math.sqrt(2.0 * deceleration * Math.abs(deltaAngle)));
+
+        Assert.assertEquals(Math.signum(deltaAngle) * speed, rotation.getCurrVelocity(RotationTest.START_TIME), speed * 1e-3f);
+      }
+    }
+  }
+
+  @Test
+  public void freeFlingCoversItsFlingDistance()
+  {
+    final float deceleration = Rotation.DEFAULT_FLING_DECELERATION;
+
+    for (final float velocity : new float[] { -2000.0f, 300.0f, 5000.0f })
+    {
+      final float distance = Rotation.getFlingDistance(velocity, deceleration);
+      final Rotation rotation = new Rotation();
+      rotation.fling(RotationTest.START_TIME, 0.0f, distance, velocity, deceleration);
+
+      // A free fling lasts v / a
+      Assert.assertEquals(Math.abs(velocity) / deceleration * 1000.0f, rotation.getDuration(), 1.0f);
+      assertEndsOn(rotation, distance);
+    }
+  }
+
+  private static Motion[] motions()
+  {
+    return new Motion[] { new LinearMotion(), new DecelerateMotion(), new OvershootMotion(), new SpringMotion() };
+  }
+
+  /**
+   * Steps the rotation the given number of frames after the given time
+   *
+   * @return The time of the last frame
+   */
+  private static long stepFrames(Rotation rotation, long fromTime, int frameCount)
+  {
+    long time = fromTime;
+
+    for (int frame = 0; frame < frameCount; frame++)
+    {
+      time += RotationTest.FRAME_NANOS;
+      rotation.computeAngleOffset(time);
+    }
+
+    return time;
+  }
+
+  /**
+   * Steps the rotation frame by frame, from the time of its start, until it ends, and checks that its last angle is exactly the target
+   */
+  private static void assertEndsOn(Rotation rotation, float targetAngle)
+  {
+    long time = RotationTest.START_TIME;
+
+    while (rotation.computeAngleOffset(time) == true)
+    {
+      time += RotationTest.FRAME_NANOS;
+
+      Assert.assertTrue("Does not end", time - RotationTest.START_TIME < 30000L * RotationTest.NANOS_PER_MILLI);
+    }
+
+    Assert.assertTrue(rotation.isFinished());
+    Assert.assertEquals(targetAngle, rotation.getCurrAngle(), 0.0f);
+  }
+
+}
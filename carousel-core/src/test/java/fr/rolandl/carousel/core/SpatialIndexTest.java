@@ -0,0 +1,271 @@
+package fr.rolandl.carousel.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks that the grid finds the same item as a brute force {@link HitTester#hitTest(float[], int[], int, float, float)} over all the indexed items,
+ * especially for the points and the quads lying on the edges of the cells.
+ */
+public final class SpatialIndexTest
+{
+
+  private static final float SIZE = 800.0f;
+
+  /**
+   * The size of a cell with the default grid
+   */
+  private static final float CELL_SIZE = SpatialIndexTest.SIZE / SpatialIndex.DEFAULT_GRID_SIZE;
+
+  private static final int ITEM_COUNT = 40;
+
+  private final Random random = new Random(12L);
+
+  private final float[] quads = new float[SpatialIndexTest.ITEM_COUNT * HitTester.QUAD_SIZE];
+
+  private final float[] z = new float[SpatialIndexTest.ITEM_COUNT];
+
+  private final boolean[] indexed = new boolean[SpatialIndexTest.ITEM_COUNT];
+
+  private final SpatialIndex index = new SpatialIndex();
+
+  @Test
+  public void emptyIndexFindsNothing()
+  {
+    index.setSize(SpatialIndexTest.SIZE, SpatialIndexTest.SIZE);
+
+    Assert.assertEquals(-1, index.query(10.0f, 10.0f, null));
+  }
+
+  @Test
+  public void quadOnTheEdgesOfACellIsFoundUpToItsEdges()
+  {
+    final float first = SpatialIndexTest.CELL_SIZE;
+    final float last = 2 * SpatialIndexTest.CELL_SIZE;
+
+    index.setSize(SpatialIndexTest.SIZE, SpatialIndexTest.SIZE);
+    setRect(0, first, first, last, last, 0.0f);
+    index.update(0, quads, 0, z[0]);
+
+    Assert.assertEquals(0, index.query(Math.nextUp(first), Math.nextUp(first), null));
+    Assert.assertEquals(0, index.query(Math.nextAfter(last, 0.0), Math.nextAfter(last, 0.0), null));
+
+    // The edges do not belong to the quad, see HitTester.quadContains()
+    Assert.assertEquals(-1, index.query(first, first + 1.0f, null));
+    Assert.assertEquals(-1, index.query(last, last - 1.0f, null));
+    Assert.assertEquals(-1, index.query(Math.nextAfter(first, 0.0), first + 1.0f, null));
+    Assert.assertEquals(-1, index.query(Math.nextUp(last), last - 1.0f, null));
+  }
+
+  @Test
+  public void frontMostItemWins()
+  {
+    index.setSize(SpatialIndexTest.SIZE, SpatialIndexTest.SIZE);
+    setRect(0, 0.0f, 0.0f, 300.0f, 300.0f, 10.0f);
+    setRect(1, 50.0f, 50.0f, 250.0f, 250.0f, -5.0f);
+    index.update(0, quads, 0, z[0]);
+    index.update(1, quads, HitTester.QUAD_SIZE, z[1]);
+
+    Assert.assertEquals(1, index.query(100.0f, 100.0f, null));
+    Assert.assertEquals(0, index.query(10.0f, 10.0f, null));
+
+    // The item moves behind
+    z[1] = 20.0f;
+    index.update(1, quads, HitTester.QUAD_SIZE, z[1]);
+
+    Assert.assertEquals(0, index.query(100.0f, 100.0f, null));
+  }
+
+  @Test
+  public void filteredSlotsAreSkipped()
+  {
+    index.setSize(SpatialIndexTest.SIZE, SpatialIndexTest.SIZE);
+    setRect(0, 0.0f, 0.0f, 300.0f, 300.0f, 10.0f);
+    setRect(1, 50.0f, 50.0f, 250.0f, 250.0f, -5.0f);
+    index.update(0, quads, 0, z[0]);
+    index.update(1, quads, HitTester.QUAD_SIZE, z[1]);
+
+    Assert.assertEquals(0, index.query(100.0f, 100.0f, new SpatialIndex.SlotFilter()
+    {
+      @Override
+      public boolean accept(int slot)
+      {
+        return slot != 1;
+      }
+    }));
+  }
+
+  @Test
+  public void agreesWithBruteForceOnCellEdges()
+  {
+    index.setSize(SpatialIndexTest.SIZE, SpatialIndexTest.SIZE);
+
+    for (int round = 0; round < 50; round++)
+    {
+      for (int slot = 0; slot < SpatialIndexTest.ITEM_COUNT; slot++)
+      {
+        if (random.nextInt(4) == 0)
+        {
+          index.remove(slot);
+          indexed[slot] = false;
+        }
+        else
+        {
+          randomizeQuad(slot);
+          index.update(slot, quads, slot * HitTester.QUAD_SIZE, z[slot]);
+          indexed[slot] = true;
+        }
+      }
+
+      assertAgreesWithBruteForce();
+    }
+  }
+
+  @Test
+  public void agreesWithBruteForceOnceResized()
+  {
+    index.setSize(SpatialIndexTest.SIZE, SpatialIndexTest.SIZE);
+
+    for (int slot = 0; slot < SpatialIndexTest.ITEM_COUNT; slot++)
+    {
+      randomizeQuad(slot);
+      index.update(slot, quads, slot * HitTester.QUAD_SIZE, z[slot]);
+      indexed[slot] = true;
+    }
+
+    // The quads now overflow the indexed area, and fall in the border cells
+    index.setSize(SpatialIndexTest.SIZE / 2, SpatialIndexTest.SIZE / 2);
+    assertAgreesWithBruteForce();
+
+    index.setSize(SpatialIndexTest.SIZE, SpatialIndexTest.SIZE);
+    assertAgreesWithBruteForce();
+  }
+
+  @Test
+  public void clearedIndexFindsNothing()
+  {
+    index.setSize(SpatialIndexTest.SIZE, SpatialIndexTest.SIZE);
+    setRect(0, 0.0f, 0.0f, 300.0f, 300.0f, 0.0f);
+    index.update(0, quads, 0, z[0]);
+    index.clear();
+
+    Assert.assertEquals(-1, index.query(100.0f, 100.0f, null));
+  }
+
+  /**
+   * Queries the points on and around the edges of every cell, and out of the indexed area
+   */
+  private void assertAgreesWithBruteForce()
+  {
+    final int[] order = getFrontToBackOrder();
+
+    for (int i = -1; i <= SpatialIndex.DEFAULT_GRID_SIZE + 1; i++)
+    {
+      for (int j = -1; j <= SpatialIndex.DEFAULT_GRID_SIZE + 1; j++)
+      {
+        for (final float x : SpatialIndexTest.around(i * SpatialIndexTest.CELL_SIZE))
+        {
+          for (final float y : SpatialIndexTest.around(j * SpatialIndexTest.CELL_SIZE))
+          {
+            Assert.assertEquals("At (" + x + ", " + y + ")", HitTester.hitTest(quads, order, order.length, x, y), index.query(x, y, null));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return The coordinates just before, on and just after the given edge, and in the middle of the next cell
+   */
+  private static float[] around(float edge)
+  {
+    return new float[] { Math.nextAfter(edge, -Double.MAX_VALUE), edge, Math.nextUp(edge), edge + SpatialIndexTest.CELL_SIZE / 2 };
+  }
+
+  private int[] getFrontToBackOrder()
+  {
+    int count = 0;
+    final Integer[] slots = new Integer[SpatialIndexTest.ITEM_COUNT];
+
+    for (int slot = 0; slot < SpatialIndexTest.ITEM_COUNT; slot++)
+    {
+      if (indexed[slot] == true)
+      {
+        slots[count++] = slot;
+      }
+    }
+
+    Arrays.sort(slots, 0, count, new Comparator<Integer>()
+    {
+      @Override
+      public int compare(Integer lhs, Integer rhs)
+      {
+        return Float.compare(z[lhs], z[rhs]);
+      }
+    });
+
+    final int[] order = new int[count];
+
+    for (int i = 0; i < count; i++)
+    {
+      order[i] = slots[i];
+    }
+
+    return order;
+  }
+
+  /**
+   * Gives a slot a quad whose corners are mostly on the edges of the cells, either axis aligned or skewed, and a unique z
+   */
+  private void randomizeQuad(int slot)
+  {
+    final float left = randomCoordinate();
+    final float top = randomCoordinate();
+    final float right = left + (1 + random.nextInt(3)) * SpatialIndexTest.CELL_SIZE;
+    final float bottom = top + (1 + random.nextInt(3)) * SpatialIndexTest.CELL_SIZE;
+
+    setRect(slot, left, top, right, bottom, random.nextFloat() * 1000.0f + slot * 1e-3f);
+
+    if (random.nextBoolean() == true)
+    {
+      // Skews the quad so its bounding box is larger than the quad
+      final int offset = slot * HitTester.QUAD_SIZE;
+      final float skew = SpatialIndexTest.CELL_SIZE / 2;
+
+      quads[offset] += skew;
+      quads[offset + 4] -= skew;
+    }
+  }
+
+  private float randomCoordinate()
+  {
+    final float edge = (random.nextInt(SpatialIndex.DEFAULT_GRID_SIZE + 2) - 1) * SpatialIndexTest.CELL_SIZE;
+
+    return random.nextInt(3) == 0 ? edge + random.nextFloat() * SpatialIndexTest.CELL_SIZE : edge;
+  }
+
+  /**
+   * Sets the quad of a slot, whose corners go around the rectangle
+   */
+  private void setRect(int slot, float left, float top, float right, float bottom, float itemZ)
+  {
+    final int offset = slot * HitTester.QUAD_SIZE;
+
+    quads[offset] = left;
+    quads[offset + 1] = top;
+    quads[offset + 2] = right;
+    quads[offset + 3] = top;
+    quads[offset + 4] = right;
+    quads[offset + 5] = bottom;
+    quads[offset + 6] = left;
+    quads[offset + 7] = bottom;
+    z[slot] = itemZ;
+  }
+
+}
@@ -0,0 +1,233 @@
+package fr.rolandl.carousel.core;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks that the cached positions stay within half a bucket of the positions computed with {@link ExactTrigonometry}, on and around the bucket
+ * boundaries and at both ends of the turn, and that a new size of the ring invalidates the cache.
+ */
+public final class TransformCacheTest
+{
+
+  private static final int DIAMETER = 1080;
+
+  private static final int HEIGHT = 600;
+
+  private static final int ITEM_WIDTH = 200;
+
+  /**
+   * The tolerance of the float math, in pixels
+   */
+  private static final float EPSILON = 1e-3f;
+
+  private final TransformCache transformCache = new TransformCache();
+
+  private final RingGeometry exactGeometry = new RingGeometry();
+
+  private final RingGeometry cachedGeometry = new RingGeometry();
+
+  private final float[] expected = new float[3];
+
+  private final float[] actual = new float[3];
+
+  @Test
+  public void bucketsHoldAWholeTurn()
+  {
+    Assert.assertEquals(1440, transformCache.getBucketCount());
+    Assert.assertEquals(TransformCache.DEFAULT_BUCKET_SIZE, transformCache.getBucketSize(), 0.0f);
+
+    final TransformCache adjusted = new TransformCache(0.7f);
+
+    Assert.assertEquals(514, adjusted.getBucketCount());
+    Assert.assertEquals(360.0f, adjusted.getBucketCount() * adjusted.getBucketSize(), 1e-3f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullBucketSizeIsRejected()
+  {
+    new TransformCache(0.0f);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void bucketSizeLargerThanATurnIsRejected()
+  {
+    new TransformCache(361.0f);
+  }
+
+  @Test
+  public void bucketAnglesAreExact()
+  {
+    setSize(TransformCacheTest.DIAMETER, TransformCacheTest.HEIGHT);
+
+    for (int bucket = 0; bucket < transformCache.getBucketCount(); bucket++)
+    {
+      assertWithinError(bucket * transformCache.getBucketSize(), TransformCacheTest.EPSILON);
+    }
+  }
+
+  @Test
+  public void positionsAroundTheBucketBoundariesAreWithinHalfABucket()
+  {
+    setSize(TransformCacheTest.DIAMETER, TransformCacheTest.HEIGHT);
+
+    final float bucketSize = transformCache.getBucketSize();
+    final float maximumError = getMaximumError(TransformCacheTest.DIAMETER);
+
+    // About 1.2 pixels on a ring of 1,080 pixels
+    Assert.assertTrue(maximumError < 1.2f);
+
+    for (int bucket = 0; bucket < transformCache.getBucketCount(); bucket++)
+    {
+      final float angle = bucket * bucketSize;
+      final float boundary = angle + bucketSize / 2;
+
+      assertWithinError(Math.nextUp(angle), maximumError);
+      assertWithinError(Math.nextAfter(boundary, 0.0), maximumError);
+      assertWithinError(boundary, maximumError);
+
+      if (Math.nextUp(boundary) < 360.0f)
+      {
+        assertWithinError(Math.nextUp(boundary), maximumError);
+      }
+
+      if (angle > 0.0f)
+      {
+        assertWithinError(Math.nextAfter(angle, 0.0), maximumError);
+      }
+    }
+  }
+
+  @Test
+  public void positionsAtTheEndOfTheTurnAreWithinHalfABucket()
+  {
+    setSize(TransformCacheTest.DIAMETER, TransformCacheTest.HEIGHT);
+
+    final float maximumError = getMaximumError(TransformCacheTest.DIAMETER);
+
+    for (final float angle : new float[] { 0.0f, Math.nextUp(0.0f), 0.125f, 359.875f, 359.9f, 359.99f, Math.nextAfter(360.0f, 0.0) })
+    {
+      assertWithinError(angle, maximumError);
+    }
+  }
+
+  @Test
+  public void endOfTheTurnWrapsToTheFirstBucket()
+  {
+    setSize(TransformCacheTest.DIAMETER, TransformCacheTest.HEIGHT);
+    transformCache.computePosition(0.0f, TransformCacheTest.ITEM_WIDTH, expected, 0);
+    transformCache.resetCounts();
+    transformCache.computePosition(359.9f, TransformCacheTest.ITEM_WIDTH, actual, 0);
+
+    Assert.assertEquals(1L, transformCache.getHitCount());
+    Assert.assertArrayEquals(expected, actual, 0.0f);
+  }
+
+  @Test
+  public void randomPositionsAreWithinHalfABucket()
+  {
+    final Random random = new Random(25L);
+
+    for (final int diameter : new int[] { 1, 320, 1080, 2560 })
+    {
+      setSize(diameter, TransformCacheTest.HEIGHT);
+
+      final float maximumError = getMaximumError(diameter);
+
+      for (int i = 0; i < 10000; i++)
+      {
+        assertWithinError(random.nextFloat() * 360.0f, maximumError);
+      }
+    }
+  }
+
+  @Test
+  public void cacheIsBoundedByItsBuckets()
+  {
+    final Random random = new Random(5L);
+    setSize(TransformCacheTest.DIAMETER, TransformCacheTest.HEIGHT);
+
+    for (int i = 0; i < 100000; i++)
+    {
+      transformCache.computePosition(random.nextFloat() * 360.0f, TransformCacheTest.ITEM_WIDTH, actual, 0);
+    }
+
+    Assert.assertEquals(transformCache.getBucketCount(), transformCache.getMissCount());
+    Assert.assertEquals(100000L - transformCache.getBucketCount(), transformCache.getHitCount());
+  }
+
+  @Test
+  public void sameSizeKeepsTheCache()
+  {
+    setSize(TransformCacheTest.DIAMETER, TransformCacheTest.HEIGHT);
+    transformCache.computePosition(72.0f, TransformCacheTest.ITEM_WIDTH, actual, 0);
+
+    setSize(TransformCacheTest.DIAMETER, TransformCacheTest.HEIGHT);
+    transformCache.resetCounts();
+    transformCache.computePosition(72.0f, TransformCacheTest.ITEM_WIDTH, actual, 0);
+
+    Assert.assertEquals(1L, transformCache.getHitCount());
+    Assert.assertEquals(0L, transformCache.getMissCount());
+  }
+
+  @Test
+  public void newSizeInvalidatesTheCache()
+  {
+    final float[] angles = { 0.0f, 72.0f, 144.0f, 216.0f, 288.0f, 359.5f };
+
+    setSize(TransformCacheTest.DIAMETER, TransformCacheTest.HEIGHT);
+
+    for (final float angle : angles)
+    {
+      transformCache.computePosition(angle, TransformCacheTest.ITEM_WIDTH, actual, 0);
+    }
+
+    for (final int[] size : new int[][] { { 720, TransformCacheTest.HEIGHT }, { 720, 400 }, { TransformCacheTest.DIAMETER, 400 } })
+    {
+      setSize(size[0], size[1]);
+      transformCache.resetCounts();
+
+      for (final float angle : angles)
+      {
+        assertWithinError(angle, getMaximumError(size[0]));
+      }
+
+      Assert.assertEquals(angles.length, transformCache.getMissCount());
+      Assert.assertEquals(0L, transformCache.getHitCount());
+    }
+  }
+
+  /**
+   * Gives the same size to the cache and to the geometries, the cache being set on one of them
+   */
+  private void setSize(int diameter, int height)
+  {
+    cachedGeometry.setTransformCache(transformCache);
+    cachedGeometry.setSize(diameter, height);
+    exactGeometry.setSize(diameter, height);
+  }
+
+  /**
+   * @return Half a bucket of arc, in pixels: the largest distance between an item and the angle of its bucket
+   */
+  private float getMaximumError(int diameter)
+  {
+    return (float) (diameter / 2 * Math.toRadians(transformCache.getBucketSize() / 2)) + TransformCacheTest.EPSILON;
+  }
+
+  private void assertWithinError(float angle, float maximumError)
+  {
+    exactGeometry.computePositionAtAngle(angle, TransformCacheTest.ITEM_WIDTH, expected, 0);
+    cachedGeometry.computePositionAtAngle(angle, TransformCacheTest.ITEM_WIDTH, actual, 0);
+
+    for (int i = 0; i < 3; i++)
+    {
+      Assert.assertEquals("At " + angle, expected[i], actual[i], maximumError);
+    }
+  }
+
+}
@@ -0,0 +1,105 @@
+package fr.rolandl.carousel.core;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Checks that the lookup table and the incremental trigonometries agree with the exact one, while the ring rotates.
+ */
+public final class TrigonometryTest
+{
+
+  private static final float EPSILON = 1e-5f;
+
+  private static final int[] COUNTS = { 1, 5, 50, 500, 5000 };
+
+  @Test
+  public void lookupTableAgreesWithExact()
+  {
+    assertAgreesWithExact(new LookupTableTrigonometry());
+  }
+
+  @Test
+  public void incrementalAgreesWithExact()
+  {
+    assertAgreesWithExact(new IncrementalTrigonometry());
+  }
+
+  @Test
+  public void lookupTableAgreesWithExactAtTheEndOfTheTable()
+  {
+    final Trigonometry exact = new ExactTrigonometry();
+    final Trigonometry lookupTable = new LookupTableTrigonometry();
+    final float[] expected = new float[2];
+    final float[] actual = new float[2];
+
+    for (final float angle : new float[] { 0.0f, 90.0f, 180.0f, 269.99f, 270.0f, 359.9f, Math.nextAfter(360.0f, 0.0) })
+    {
+      exact.sinCos(-1, angle, expected, 0);
+      lookupTable.sinCos(-1, angle, actual, 0);
+
+      Assert.assertEquals(expected[0], actual[0], TrigonometryTest.EPSILON);
+      Assert.assertEquals(expected[1], actual[1], TrigonometryTest.EPSILON);
+    }
+  }
+
+  @Test
+  public void incrementalComputesTheAnglesOutOfTheRing()
+  {
+    final Trigonometry exact = new ExactTrigonometry();
+    final Trigonometry incremental = new IncrementalTrigonometry();
+    final float[] expected = new float[2];
+    final float[] actual = new float[2];
+
+    incremental.setRing(30.0f, 5);
+
+    // An item moving to its slot is not at the angle of its position
+    exact.sinCos(-1, 123.0f, expected, 0);
+    incremental.sinCos(-1, 123.0f, actual, 0);
+
+    Assert.assertEquals(expected[0], actual[0], 0.0f);
+    Assert.assertEquals(expected[1], actual[1], 0.0f);
+  }
+
+  /**
+   * Rotates a ring by small and large steps, over more rotations than the resync period of the incremental trigonometry, and compares the sine and the
+   * cosine of every item with the exact ones
+   */
+  private static void assertAgreesWithExact(Trigonometry trigonometry)
+  {
+    final Trigonometry exact = new ExactTrigonometry();
+    final Random random = new Random(7L);
+    final float[] expected = new float[2];
+    final float[] actual = new float[2];
+
+    for (final int count : TrigonometryTest.COUNTS)
+    {
+      float ringAngle = random.nextFloat() * 360.0f;
+      trigonometry.setRing(ringAngle, count);
+
+      for (int rotation = 0; rotation < 600; rotation++)
+      {
+        final float deltaAngle = rotation % 50 == 0 ? (random.nextFloat() - 0.5f) * 720.0f : (random.nextFloat() - 0.5f) * 4.0f;
+
+        ringAngle = RingGeometry.normalizeAngle(ringAngle + deltaAngle);
+        trigonometry.rotate(deltaAngle, ringAngle);
+
+        for (int position = 0; position < count; position += Math.max(1, count / 50))
+        {
+          final float angle = RingGeometry.getAngle(ringAngle, position, count);
+
+          exact.sinCos(position, angle, expected, 0);
+          trigonometry.sinCos(position, angle, actual, 0);
+
+          Assert.assertEquals(expected[0], actual[0], TrigonometryTest.EPSILON);
+          Assert.assertEquals(expected[1], actual[1], TrigonometryTest.EPSILON);
+        }
+      }
+    }
+  }
+
+}
@@ -2,9 +2,10 @@ package fr.rolandl.carousel;
 
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.graphics.Camera;
-import android.graphics.Matrix;
+import android.graphics.Canvas;
 import android.graphics.Rect;
+import android.os.Build;
+import android.os.Build.VERSION_CODES;
 import android.util.AttributeSet;
 import android.view.ContextMenu.ContextMenuInfo;
 import android.view.GestureDetector;
@@ -17,9 +18,18 @@ import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 import android.view.animation.Transformation;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import android.widget.SpinnerAdapter;
+import fr.rolandl.carousel.core.ExactTrigonometry;
+import fr.rolandl.carousel.core.IdleFrameCounter;
+import fr.rolandl.carousel.core.IncrementalTrigonometry;
+import fr.rolandl.carousel.core.ListDiff;
+import fr.rolandl.carousel.core.LookupTableTrigonometry;
+import fr.rolandl.carousel.core.Motion;
+import fr.rolandl.carousel.core.Projection;
+import fr.rolandl.carousel.core.RingGeometry;
+import fr.rolandl.carousel.core.Rotation;
+import fr.rolandl.carousel.core.TransformCache;
+import fr.rolandl.carousel.core.ZOrder;
 
 /**
  * @author Igor Kushnarev, Ludovic Roland
@@ -31,8 +41,8 @@ public final class Carousel
     implements GestureDetector.OnGestureListener
 {
 
-  private class FlingRotateRunnable
-      implements Runnable
+  private class FlingRotateAnimation
+      implements FrameScheduler.FrameCallback
   {
 
     /**
@@ -40,6 +50,11 @@ public final class Carousel
      */
     private final Rotator rotator;
 
+    /**
+     * Runs the rotation once per display frame
+     */
+    private final FrameScheduler frameScheduler;
+
     /**
      * Angle value reported by rotator on the previous fling
      */
@@ -48,32 +63,47 @@ public final class Carousel
     /**
      * Constructor
      */
-    public FlingRotateRunnable()
+    public FlingRotateAnimation()
     {
       rotator = new Rotator();
+      frameScheduler = FrameScheduler.create(Carousel.this, this);
     }
 
     private void startCommon()
     {
       // Remove any pending flings
-      removeCallbacks(this);
+      frameScheduler.cancelFrame();
     }
 
-    public void startUsingVelocity(float initialVelocity)
+    /**
+     * Rotates the ring by the given angle, decelerating from the given angular velocity
+     */
+    public void startUsingVelocity(float velocity, float deltaAngle)
     {
-      if (initialVelocity == 0)
+      if (deltaAngle == 0)
       {
         return;
       }
 
       startCommon();
       lastFlingAngle = 0.0f;
-      rotator.fling(initialVelocity);
-      post(this);
+      rotator.fling(0.0f, -deltaAngle, -velocity, flingDeceleration);
+      frameScheduler.scheduleFrame();
     }
 
+    /**
+     * Rotates the ring by the given angle from its current angle. A rotation in flight is redirected to the new target: it keeps its velocity and its
+     * frames, and a target it is already heading to does not start it again.
+     */
     public void startUsingDistance(float deltaAngle)
     {
+      if (isRunning() == true)
+      {
+        // The ring stands at the last angle applied by the rotator
+        rotator.retarget(lastFlingAngle - deltaAngle, animationDuration);
+        return;
+      }
+
       if (deltaAngle == 0)
       {
         return;
@@ -82,18 +112,26 @@ public final class Carousel
       startCommon();
 
       lastFlingAngle = 0;
+      rotator.startRotate(0.0f, -deltaAngle, animationDuration);
+      frameScheduler.scheduleFrame();
+    }
 
-      synchronized (this)
-      {
-        rotator.startRotate(0.0f, -deltaAngle, animationDuration);
-      }
+    public boolean isRunning()
+    {
+      return frameScheduler.isFrameScheduled() == true && rotator.isFinished() == false;
+    }
 
-      post(this);
+    /**
+     * @return The rotation, in degrees, the ring still has to make before the rotation in flight ends, or 0 if no rotation is running
+     */
+    public float getRemainingRotation()
+    {
+      return isRunning() == true ? lastFlingAngle - rotator.getFinalAngle() : 0.0f;
     }
 
     public void stop(boolean scrollIntoSlots)
     {
-      removeCallbacks(this);
+      frameScheduler.cancelFrame();
       endFling(scrollIntoSlots);
     }
 
@@ -102,10 +140,7 @@ public final class Carousel
       /*
        * Force the scroller's status to finished (without setting its position to the end)
        */
-      synchronized (this)
-      {
-        rotator.forceFinished(true);
-      }
+      rotator.forceFinished(true);
 
       if (scrollIntoSlots)
       {
@@ -114,7 +149,7 @@ public final class Carousel
     }
 
     @Override
-    public void run()
+    public void doFrame(long frameTimeNanos)
     {
       if (Carousel.this.getChildCount() == 0)
       {
@@ -124,48 +159,326 @@ public final class Carousel
 
       shouldStopFling = false;
 
-      final Rotator rotator;
-      final float angle;
-      boolean more;
-
-      synchronized (this)
-      {
-        rotator = this.rotator;
-        more = rotator.computeAngleOffset();
-        angle = rotator.getCurrAngle();
-      }
+      final boolean more = rotator.computeAngleOffset(frameTimeNanos);
+      final float angle = rotator.getCurrAngle();
 
       // Flip sign to convert finger direction to list items direction
       // (e.g. finger moving down means list is moving towards the top)
       final float delta = lastFlingAngle - angle;
 
-      // Shoud be reworked
-      trackMotionScroll(delta);
+      // The rotation may not have moved since the previous frame
+      if (delta != 0.0f)
+      {
+        trackMotionScroll(delta);
+      }
 
       if (more && !shouldStopFling)
       {
         lastFlingAngle = angle;
-        post(this);
+        frameScheduler.scheduleFrame();
       }
       else
       {
         lastFlingAngle = 0.0f;
         endFling(true);
       }
+    }
+
+  }
+
+  /**
+   * Moves the items from their angle before the fine-grained notifications of a {@link CarouselAdapter} to the slots of the new distribution of the
+   * ring. Only the items are moved: the ring angle does not change during the transition.
+   */
+  private class RingTransition
+      implements FrameScheduler.FrameCallback
+  {
+
+    private static final float NANOS_PER_MILLI = 1000000.0f;
+
+    /**
+     * Runs the transition once per display frame
+     */
+    private final FrameScheduler frameScheduler;
+
+    private long startTimeNanos;
+
+    /**
+     * The part of the transition angle of the items which remains to be covered, from 1 to 0
+     */
+    private float remainingFraction;
+
+    private boolean running;
+
+    public RingTransition()
+    {
+      frameScheduler = FrameScheduler.create(Carousel.this, this);
+    }
+
+    public void start()
+    {
+      startTimeNanos = System.nanoTime();
+      remainingFraction = 1.0f;
+      running = true;
+      frameScheduler.scheduleFrame();
+    }
+
+    /**
+     * Stops the transition without moving the items, typically because their current angle has just been captured for a new transition
+     */
+    public void cancel()
+    {
+      frameScheduler.cancelFrame();
+      running = false;
+    }
+
+    /**
+     * Stops the transition and brings the items to their slot
+     */
+    public void stop()
+    {
+      cancel();
+
+      for (int i = 0; i < getChildCount(); i++)
+      {
+        ((CarouselItem<?>) getChildAt(i)).setTransitionAngle(0.0f);
+      }
+
+      remainingFraction = 0.0f;
+      ringVersion++;
+      invalidateRing();
+    }
+
+    public boolean isRunning()
+    {
+      return running;
+    }
+
+    public float getRemainingFraction()
+    {
+      return remainingFraction;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos)
+    {
+      // The frame may have started before the transition
+      final float elapsedMillis = Math.max(0L, frameTimeNanos - startTimeNanos) / RingTransition.NANOS_PER_MILLI;
+      final float progress = animationDuration <= 0 ? 1.0f : Math.min(1.0f, elapsedMillis / animationDuration);
+
+      if (progress >= 1.0f)
+      {
+        stop();
+        return;
+      }
+
+      // The items decelerate as they reach their slot
+      remainingFraction = (1.0f - progress) * (1.0f - progress);
+      ringVersion++;
+      invalidateRing();
+      frameScheduler.scheduleFrame();
+    }
+
+  }
+
+  /**
+   * Receives the fine-grained notifications of a {@link CarouselAdapter}. The attached items are not bound again: their positions are shifted, the
+   * removed ones go to the scrap pools, and the changed ones are only marked, so they are bound once all the notifications have been received, when
+   * their positions are the final ones.
+   */
+  private class ItemObserver
+      implements ListDiff.ListUpdateCallback
+  {
+
+    @Override
+    public void onInserted(int position, int count)
+    {
+      captureTransitionAngles();
+
+      for (int i = 0; i < getChildCount(); i++)
+      {
+        final CarouselItem<?> child = (CarouselItem<?>) getChildAt(i);
+
+        if (child.getIndex() >= position)
+        {
+          child.setIndex(child.getIndex() + count);
+        }
+      }
+
+      final int selection = getPendingSelection();
+
+      itemCount += count;
+      setNextSelectedPositionInt(selection < 0 ? 0 : (selection >= position ? selection + count : selection));
+      checkFocus();
+      requestLayout();
+    }
+
+    @Override
+    public void onRemoved(int position, int count)
+    {
+      captureTransitionAngles();
+
+      for (int i = getChildCount() - 1; i >= 0; i--)
+      {
+        final CarouselItem<?> child = (CarouselItem<?>) getChildAt(i);
+        final int index = child.getIndex();
+
+        if (index >= position + count)
+        {
+          child.setIndex(index - count);
+        }
+        else if (index >= position)
+        {
+          detachViewFromParent(i);
+          detachSlot(child);
+          recycler.addScrapView(child, child.getViewType());
+        }
+      }
+
+      final int selection = getPendingSelection();
+
+      itemCount -= count;
+
+      if (itemCount == 0)
+      {
+        setNextSelectedPositionInt(CarouselBaseAdapter.INVALID_POSITION);
+      }
+      else if (selection >= position + count)
+      {
+        setNextSelectedPositionInt(selection - count);
+      }
+      else if (selection >= position)
+      {
+        // The item following the removed ones takes the place of the selected one
+        setNextSelectedPositionInt(Math.min(position, itemCount - 1));
+      }
+
+      checkFocus();
+      invalidate();
+      requestLayout();
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition)
+    {
+      captureTransitionAngles();
+
+      for (int i = 0; i < getChildCount(); i++)
+      {
+        final CarouselItem<?> child = (CarouselItem<?>) getChildAt(i);
+        child.setIndex(getMovedPosition(child.getIndex(), fromPosition, toPosition));
+      }
+
+      setNextSelectedPositionInt(getMovedPosition(getPendingSelection(), fromPosition, toPosition));
+      requestLayout();
+    }
+
+    @Override
+    public void onChanged(int position, int count)
+    {
+      for (int i = 0; i < getChildCount(); i++)
+      {
+        final CarouselItem<?> child = (CarouselItem<?>) getChildAt(i);
+
+        if (child.getIndex() >= position && child.getIndex() < position + count)
+        {
+          child.setRebindPending(true);
+        }
+      }
+
+      requestLayout();
+    }
+
+    /**
+     * @return The position the selection will have on the next layout
+     */
+    private int getPendingSelection()
+    {
+      return nextSelectedPosition >= 0 ? nextSelectedPosition : selectedPosition;
+    }
+
+    private int getMovedPosition(int position, int fromPosition, int toPosition)
+    {
+      if (position == fromPosition)
+      {
+        return toPosition;
+      }
+      else if (fromPosition < toPosition && position > fromPosition && position <= toPosition)
+      {
+        return position - 1;
+      }
+      else if (fromPosition > toPosition && position >= toPosition && position < fromPosition)
+      {
+        return position + 1;
+      }
 
+      return position;
     }
 
   }
 
+  /**
+   * Interface definition for a callback to be invoked each time a frame of the carousel has been drawn, once metrics are enabled.
+   */
+  public static interface OnMetricsListener
+  {
+
+    /**
+     * Callback method to be invoked each time a frame of the carousel has been drawn. The measures of the frame have already been recorded into the
+     * histograms: implementers can forward them, then reset them.
+     *
+     * @param carousel The carousel which has been drawn
+     * @param metrics  The metrics of the carousel
+     */
+    public void onFrameMetrics(Carousel carousel, CarouselMetrics metrics);
+
+  }
+
   /**
    * Duration in milliseconds from the start of a scroll during which we're unsure whether the user is scrolling or flinging.
    */
   private static final int SCROLL_TO_FLING_UNCERTAINTY_TIMEOUT = 250;
 
   /**
-   * The axe angle
+   * The angle, in degrees, under which the ring is considered in its slot: the remaining rotation is applied at once instead of being animated
+   */
+  private static final float SNAP_TOLERANCE = 0.01f;
+
+  /**
+   * Computes the sine and the cosine of every item angle with {@link Math}
+   */
+  public static final int TRIGONOMETRY_EXACT = 0;
+
+  /**
+   * Reads the sine and the cosine of the items angles from a precomputed table, with a linear interpolation
+   */
+  public static final int TRIGONOMETRY_LOOKUP_TABLE = 1;
+
+  /**
+   * Advances the sine and the cosine of the ring angle by each rotation, and derives the ones of the items from them
+   */
+  public static final int TRIGONOMETRY_INCREMENTAL = 2;
+
+  /**
+   * Places the items with a matrix applied when the carousel is drawn, see {@link Projection}
+   */
+  public static final int TRANSFORM_STATIC = 0;
+
+  /**
+   * Places the items through their translation, scale and, from Lollipop, Z properties: the display lists of the items stay cached, and the render
+   * thread applies the properties and orders the items by Z
+   */
+  public static final int TRANSFORM_VIEW_PROPERTIES = 1;
+
+  /**
+   * The default arc, in degrees, centered on the front of the ring, in which items are attached when the carousel is virtualized
+   */
+  private static final float DEFAULT_VISIBLE_ARC = 180.0f;
+
+  /**
+   * The default number of items attached on each side of the visible arc when the carousel is virtualized
    */
-  private static final float THETA = (float) (15.0f * (Math.PI / 180.0));
+  private static final int DEFAULT_PREFETCH_ITEM_COUNT = 1;
 
   /**
    * The info for adapter context menu
@@ -178,9 +491,14 @@ public final class Carousel
   private int animationDuration = 900;
 
   /**
-   * Camera to make 3D rotation
+   * The deceleration of the flings, in degrees per second squared
    */
-  private final Camera camera = new Camera();
+  private float flingDeceleration = Rotation.DEFAULT_FLING_DECELERATION;
+
+  /**
+   * Receives the matrix of an item
+   */
+  private final float[] matrixValues = new float[Projection.MATRIX_SIZE];
 
   /**
    * Sets suppressSelectionChanged = false. This is used to set it to false in the future. It will also trigger a selection changed.
@@ -208,7 +526,7 @@ public final class Carousel
   /**
    * Executes the delta rotations from a fling or scroll movement.
    */
-  private final FlingRotateRunnable flingRunnable = new FlingRotateRunnable();
+  private final FlingRotateAnimation flingAnimation = new FlingRotateAnimation();
 
   /**
    * Helper for detecting touch gestures.
@@ -257,6 +575,98 @@ public final class Carousel
    */
   private boolean suppressSelectionChanged;
 
+  /**
+   * The current angle of the item at position 0. The angle of any other item is deduced from it since items are evenly spaced on the ring.
+   */
+  private float ringAngle;
+
+  /**
+   * If true, only the items of the visible arc (plus the prefetch margin) are attached to the carousel.
+   */
+  private boolean virtualized;
+
+  /**
+   * The arc, in degrees, centered on the front of the ring, in which items are attached when the carousel is virtualized.
+   */
+  private float visibleArc = Carousel.DEFAULT_VISIBLE_ARC;
+
+  /**
+   * The number of items attached on each side of the visible arc when the carousel is virtualized.
+   */
+  private int prefetchItemCount = Carousel.DEFAULT_PREFETCH_ITEM_COUNT;
+
+  /**
+   * How the sine and the cosine of the items angles are computed
+   */
+  private int trigonometry = Carousel.TRIGONOMETRY_EXACT;
+
+  /**
+   * How the items are placed on the screen
+   */
+  private int transformBackend = Carousel.TRANSFORM_STATIC;
+
+  /**
+   * Incremented each time the ring rotates, so the items whose position has been computed for a previous ring angle can be detected.
+   */
+  private int ringVersion;
+
+  /**
+   * The position of the item nearest to the front of the ring when the attached window was last filled.
+   */
+  private int windowFrontPosition = CarouselBaseAdapter.INVALID_POSITION;
+
+  /**
+   * The indexes of the children in drawing order
+   */
+  private final ZOrder drawingOrder = new ZOrder();
+
+  /**
+   * The z coordinate of each child, gathered while computing the drawing order
+   */
+  private float[] drawingOrderZ = new float[0];
+
+  /**
+   * The ring math
+   */
+  private final RingGeometry geometry = new RingGeometry();
+
+  /**
+   * For each position, the stamp of the last layout which found it attached
+   */
+  private int[] attachedStamps = new int[0];
+
+  /**
+   * Incremented on each layout, so the attached positions do not have to be cleared
+   */
+  private int layoutStamp;
+
+  /**
+   * The per-frame measures, only collected when a metrics listener is set
+   */
+  private CarouselMetrics metrics;
+
+  private OnMetricsListener onMetricsListener;
+
+  /**
+   * Moves the items to the slots of the new distribution of the ring after fine-grained notifications
+   */
+  private final RingTransition ringTransition = new RingTransition();
+
+  /**
+   * Receives the fine-grained notifications of the adapter, if it is a {@link CarouselAdapter}
+   */
+  private final ItemObserver itemObserver = new ItemObserver();
+
+  /**
+   * True if the angles of the attached items have been captured by a fine-grained notification, and the transition starts on the next layout
+   */
+  private boolean transitionPending;
+
+  /**
+   * Counts the frames drawn while nothing changed on the ring, see {@link #getIdleFrameCount()}
+   */
+  private final IdleFrameCounter idleFrameCounter = new IdleFrameCounter();
+
   public Carousel(Context context)
   {
     this(context, null);
@@ -290,32 +700,170 @@ public final class Carousel
     arr.recycle();
   }
 
-  private void Calculate3DPosition(CarouselItem<?> child, int diameter, float angleOffset)
+  /**
+   * Brings the angles and the 3D positions of the attached items up to date with the ring, if it rotated since they have been computed: a single loop
+   * over the item states, which does not touch the views.
+   */
+  private void updateItemPositions()
   {
-    angleOffset = angleOffset * (float) (Math.PI / 180.0f);
-
-    final float x = -(diameter / 2 * android.util.FloatMath.sin(angleOffset)) + diameter / 2 - child.getWidth() / 2;
-    final float z = diameter / 2 * (1.0f - android.util.FloatMath.cos(angleOffset));
-    final float y = -getHeight() / 2 + z * android.util.FloatMath.sin(Carousel.THETA);
-
-    child.setItemX(x);
-    child.setItemZ(z);
-    child.setItemY(y);
+    geometry.setSize(getWidth(), getHeight());
+    itemStates.updatePositions(geometry, ringAngle, getCount(), ringVersion, getTransitionFraction());
   }
 
   /**
-   * Figure out vertical placement based on gravity
-   *
-   * @param child Child to place
-   * @return Where the top of the child should be
+   * @return The part of their transition angle the items still have to cover, or 0 if the items are in their slot
    */
-  private int calculateTop(View child, boolean duringLayout)
+  private float getTransitionFraction()
   {
-    final int myHeight = duringLayout ? getMeasuredHeight() : getHeight();
-    final int childHeight = duringLayout ? child.getMeasuredHeight() : child.getHeight();
-    int childTop = 0;
+    return ringTransition.isRunning() == true ? ringTransition.getRemainingFraction() : 0.0f;
+  }
 
-    switch (gravity)
+  /**
+   * @return The current angle, in [0, 360[, of the item at the given position
+   */
+  private float getAngleForPosition(int position)
+  {
+    return RingGeometry.getAngle(ringAngle, position, getCount());
+  }
+
+  /**
+   * Keeps the current angle of the attached items, so they move from it to their new slot once the ring is laid out again. Only the first
+   * notification of a series captures the angles.
+   */
+  private void captureTransitionAngles()
+  {
+    if (transitionPending == true)
+    {
+      return;
+    }
+
+    transitionPending = true;
+
+    // The ring is laid out again with the selected item in front
+    flingAnimation.stop(false);
+
+    updateItemPositions();
+
+    for (int i = 0; i < getChildCount(); i++)
+    {
+      final CarouselItem<?> child = (CarouselItem<?>) getChildAt(i);
+
+      child.setTransitionAngle(child.getCurrentAngle());
+      child.setTransitionAngleCaptured(true);
+    }
+
+    // The angles captured include the progress of the current transition, which continues from them
+    ringTransition.cancel();
+  }
+
+  /**
+   * Turns the captured angles of the items into angles from their new slot, and moves the items to their slot
+   */
+  private void startTransition()
+  {
+    transitionPending = false;
+    boolean moved = false;
+
+    for (int i = 0; i < getChildCount(); i++)
+    {
+      final CarouselItem<?> child = (CarouselItem<?>) getChildAt(i);
+
+      if (child.isTransitionAngleCaptured() == true)
+      {
+        child.setTransitionAngle(RingGeometry.getShortestRotation(child.getTransitionAngle(), getAngleForPosition(child.getIndex())));
+        child.setTransitionAngleCaptured(false);
+        moved |= child.getTransitionAngle() != 0.0f;
+      }
+    }
+
+    if (moved == true)
+    {
+      ringTransition.start();
+    }
+    else
+    {
+      ringTransition.stop();
+    }
+  }
+
+  /**
+   * @return The number of items attached on each side of the front item, or -1 if all the items are attached
+   */
+  private int getWindowHalfSize()
+  {
+    return virtualized == false ? -1 : RingGeometry.getWindowHalfSize(visibleArc, prefetchItemCount, getCount());
+  }
+
+  /**
+   * Detaches the items which rotated out of the visible arc and attaches the ones which rotated into it. The detached views go to the scrap pools so
+   * they can be rebound by the adapter for the newly visible positions.
+   *
+   * @return True if any item has been attached or detached
+   */
+  private boolean fillWindow()
+  {
+    final int count = getCount();
+    final int frontPosition = RingGeometry.getFrontPosition(ringAngle, count);
+
+    if (frontPosition == windowFrontPosition)
+    {
+      return false;
+    }
+
+    final int halfSize = getWindowHalfSize();
+    final int previousFrontPosition = windowFrontPosition;
+    windowFrontPosition = frontPosition;
+
+    if (halfSize < 0)
+    {
+      return false;
+    }
+
+    boolean childrenChanged = false;
+
+    // Detach the items which left the window
+    for (int i = getChildCount() - 1; i >= 0; i--)
+    {
+      final int position = getPositionForChildAt(i);
+
+      if (RingGeometry.isInWindow(position, frontPosition, halfSize, count) == false)
+      {
+        final CarouselItem<?> child = (CarouselItem<?>) getChildAt(i);
+        detachViewFromParent(i);
+        detachSlot(child);
+        recycler.addScrapView(child, child.getViewType());
+        childrenChanged = true;
+      }
+    }
+
+    // Attach the items which entered it
+    for (int offset = -halfSize; offset <= halfSize; offset++)
+    {
+      final int position = RingGeometry.getWindowPosition(frontPosition, offset, count);
+
+      if (previousFrontPosition == CarouselBaseAdapter.INVALID_POSITION || RingGeometry.isInWindow(position, previousFrontPosition, halfSize, count) == false)
+      {
+        makeAndAddView(position);
+        childrenChanged = true;
+      }
+    }
+
+    return childrenChanged;
+  }
+
+  /**
+   * Figure out vertical placement based on gravity
+   *
+   * @param child Child to place
+   * @return Where the top of the child should be
+   */
+  private int calculateTop(View child, boolean duringLayout)
+  {
+    final int myHeight = duringLayout ? getMeasuredHeight() : getHeight();
+    final int childHeight = duringLayout ? child.getMeasuredHeight() : child.getHeight();
+    int childTop = 0;
+
+    switch (gravity)
     {
     case Gravity.TOP:
       childTop = spinnerPadding.top;
@@ -461,36 +1009,66 @@ public final class Carousel
     return motionToLeft == true ? Math.max(centerDifference, deltaX) : Math.min(centerDifference, deltaX);
   }
 
-  private void makeAndAddView(int position, float angleOffset)
+  private void makeAndAddView(int position)
   {
-    CarouselItem<?> child;
+    CarouselTrace.beginSection("Carousel.makeAndAddView");
+    // A view recycled for this position during the layout is attached back as it is, unless the data changed
+    final CarouselItem<?> recycledView = (CarouselItem<?>) recycler.get(position);
 
-    if (dataChanged == false)
+    if (recycledView != null && dataChanged == false)
     {
-      child = (CarouselItem<?>) recycler.get(position);
+      incrementCounter(CarouselMetrics.COUNTER_ITEMS_RECYCLED);
 
-      if (child != null)
-      {
-        // Position the view
-        setUpChild(child, child.getIndex(), angleOffset);
-      }
-      else
-      {
-        // Nothing found in the recycler -- ask the adapter for a view
-        child = (CarouselItem<?>) adapter.getView(position, null, this);
+      // Position the view
+      setUpChild(recycledView, position);
+      CarouselTrace.endSection();
+      return;
+    }
 
-        // Position the view
-        setUpChild(child, child.getIndex(), angleOffset);
-      }
+    // Otherwise, ask the adapter for a view, giving it a view of the same type to rebind
+    final int viewType = adapter.getItemViewType(position);
+    CarouselItem<?> convertView = recycledView;
 
-      return;
+    if (convertView != null && convertView.getViewType() != viewType)
+    {
+      recycler.addScrapView(convertView, convertView.getViewType());
+      convertView = null;
+    }
+
+    if (convertView == null)
+    {
+      convertView = (CarouselItem<?>) recycler.getScrapView(viewType);
     }
 
-    // Nothing found in the recycler -- ask the adapter for a view
-    child = (CarouselItem<?>) adapter.getView(position, null, this);
+    final CarouselItem<?> child = bindView(position, convertView, viewType);
 
     // Position the view
-    setUpChild(child, child.getIndex(), angleOffset);
+    setUpChild(child, position);
+    CarouselTrace.endSection();
+  }
+
+  /**
+   * Asks the adapter for the view of a position.
+   *
+   * @param convertView A detached view of the same type the adapter may rebind, or null
+   * @return The view returned by the adapter
+   */
+  private CarouselItem<?> bindView(int position, CarouselItem<?> convertView, int viewType)
+  {
+    final long startTime = startPhase();
+    final CarouselItem<?> child = (CarouselItem<?>) adapter.getView(position, convertView, this);
+    endPhase(CarouselMetrics.PHASE_ADAPTER_GET_VIEW, startTime);
+    incrementCounter(CarouselMetrics.COUNTER_ITEMS_BOUND);
+
+    if (recycler.onViewBound(convertView, child, viewType) == true)
+    {
+      incrementCounter(CarouselMetrics.COUNTER_ITEMS_RECYCLED);
+    }
+
+    child.setViewType(viewType);
+    child.setIndex(position);
+
+    return child;
   }
 
   private void onCancel()
@@ -498,208 +1076,658 @@ public final class Carousel
     onUp();
   }
 
-  /**
-   * Called when rotation is finished
-   */
-  private void onFinishedMovement()
+  /**
+   * Called when rotation is finished
+   */
+  private void onFinishedMovement()
+  {
+    if (suppressSelectionChanged == true)
+    {
+      suppressSelectionChanged = false;
+
+      // We haven't been callbacking during the fling, so do it now
+      super.selectionChanged();
+    }
+
+    checkSelectionChanged();
+    idleFrameCounter.requestRedraw();
+    invalidate();
+  }
+
+  private void onUp()
+  {
+    if (flingAnimation.rotator.isFinished() == true)
+    {
+      scrollIntoSlots();
+    }
+
+    dispatchUnpress();
+  }
+
+  /**
+   * Brings an item with nearest to 0 degrees angle to this angle and sets it selected
+   */
+  private void scrollIntoSlots()
+  {
+    // Nothing to do
+    if (getChildCount() == 0 || selectedChild == null)
+    {
+      return;
+    }
+
+    CarouselTrace.beginSection("Carousel.scrollIntoSlots");
+
+    // The items are evenly spaced: the slot to snap to follows from the ring angle, whatever the number of items
+    final int count = getCount();
+    final float rotation = RingGeometry.getSnapRotation(ringAngle, count);
+
+    // Start rotation if needed
+    if (Math.abs(rotation) > Carousel.SNAP_TOLERANCE)
+    {
+      flingAnimation.startUsingDistance(rotation);
+    }
+    else
+    {
+      // Land exactly in the slot
+      if (rotation != 0.0f)
+      {
+        trackMotionScroll(rotation);
+      }
+
+      // Set selected position
+      setSelectedPositionInt(RingGeometry.getFrontPosition(ringAngle, count));
+      onFinishedMovement();
+    }
+
+    CarouselTrace.endSection();
+  }
+
+  /**
+   * Rotates the ring by the given number of items, from the slot it rests on or, while it is rotating, from the slot it is heading to: successive
+   * calls add up instead of starting the rotation again, for instance when the carousel is advanced by remote events.
+   *
+   * @param itemCount The number of items to move by: a positive number brings the next items to the front.
+   */
+  public void scrollBy(int itemCount)
+  {
+    final int count = getCount();
+
+    if (getChildCount() == 0 || count == 0)
+    {
+      return;
+    }
+
+    final float remainingRotation = flingAnimation.getRemainingRotation();
+    final float targetRotation = remainingRotation + RingGeometry.getSnapRotation(ringAngle + remainingRotation, count);
+
+    flingAnimation.startUsingDistance(targetRotation - itemCount * 360.0f / count);
+  }
+
+  public void scrollToChild(int i)
+  {
+    float angle = getAngleForPosition(i);
+
+    if (angle == 0)
+    {
+      return;
+    }
+
+    if (angle > 180.0f)
+    {
+      angle = 360.0f - angle;
+    }
+    else
+    {
+      angle = -angle;
+    }
+
+    flingAnimation.startUsingDistance(angle);
+  }
+
+  /**
+   * Whether or not to callback on any {@link #getOnItemSelectedListener()} while the items are being flinged. If false, only the final selected item
+   * will cause the callback. If true, all items between the first and the final will cause callbacks.
+   *
+   * @param shouldCallback Whether or not to callback on the listener while the items are being flinged.
+   */
+  public void setCallbackDuringFling(boolean shouldCallback)
+  {
+    shouldCallbackDuringFling = shouldCallback;
+  }
+
+  /**
+   * Whether or not to callback when an item that is not selected is clicked. If false, the item will become selected (and re-centered). If true, the
+   * {@link #getOnItemClickListener()} will get the callback.
+   *
+   * @param shouldCallback Whether or not to callback on the listener when a item that is not selected is clicked.
+   * @hide
+   */
+  public void setCallbackOnUnselectedItemClick(boolean shouldCallback)
+  {
+    shouldCallbackOnUnselectedItemClick = shouldCallback;
+  }
+
+  /**
+   * Sets how long the transition animation should run when a child view changes position. Only relevant if animation is turned on.
+   *
+   * @param animationDurationMillis The duration of the transition, in milliseconds.
+   * @attr ref android.R.styleable#Gallery_animationDuration
+   */
+  public void setAnimationDuration(int animationDurationMillis)
+  {
+    animationDuration = animationDurationMillis;
+  }
+
+  /**
+   * Sets how fast a fling slows down: the lower the deceleration, the further a fling of a given velocity rotates the ring.
+   *
+   * @param flingDeceleration The deceleration, in degrees per second squared.
+   */
+  public void setFlingDeceleration(float flingDeceleration)
+  {
+    if (flingDeceleration <= 0.0f)
+    {
+      throw new IllegalArgumentException("The fling deceleration must be strictly positive");
+    }
+
+    this.flingDeceleration = flingDeceleration;
+  }
+
+  public float getFlingDeceleration()
+  {
+    return flingDeceleration;
+  }
+
+  /**
+   * Sets how the ring rotates into a slot, after a touch or towards an item: linearly by default, or with a
+   * {@link fr.rolandl.carousel.core.DecelerateMotion}, an {@link fr.rolandl.carousel.core.OvershootMotion} or a
+   * {@link fr.rolandl.carousel.core.SpringMotion}. A rotation redirected while in flight keeps its velocity, whatever the motion.
+   * <p/>
+   * A motion holds the state of the rotation it drives: the given instance must not be shared with another carousel.
+   *
+   * @param motion The motion of the rotations into a slot, owned by this carousel.
+   */
+  public void setSnapMotion(Motion motion)
+  {
+    flingAnimation.rotator.setMotion(motion);
+  }
+
+  public Motion getSnapMotion()
+  {
+    return flingAnimation.rotator.getMotion();
+  }
+
+  public void setGravity(int gravity)
+  {
+    if (this.gravity != gravity)
+    {
+      this.gravity = gravity;
+      requestLayout();
+    }
+  }
+
+  /**
+   * Sets whether only the items near the front of the ring should be attached. When virtualized, the carousel binds the items of the visible arc plus
+   * the prefetch margin, and reuses the views of the items rotating out of the arc, so the attach cost does not grow with the number of items.
+   *
+   * @param virtualized Whether or not the carousel should be virtualized.
+   * @see #setVisibleArc(float)
+   * @see #setPrefetchItemCount(int)
+   */
+  public void setVirtualized(boolean virtualized)
+  {
+    if (this.virtualized != virtualized)
+    {
+      this.virtualized = virtualized;
+      requestLayout();
+    }
+  }
+
+  public boolean isVirtualized()
+  {
+    return virtualized;
+  }
+
+  /**
+   * Sets the arc, centered on the front of the ring, in which items are attached when the carousel is virtualized.
+   *
+   * @param visibleArc The arc, in degrees, between 0 and 360.
+   */
+  public void setVisibleArc(float visibleArc)
+  {
+    if (visibleArc < 0.0f || visibleArc > 360.0f)
+    {
+      throw new IllegalArgumentException("The visible arc must be between 0 and 360 degrees");
+    }
+
+    if (this.visibleArc != visibleArc)
+    {
+      this.visibleArc = visibleArc;
+      requestLayout();
+    }
+  }
+
+  public float getVisibleArc()
+  {
+    return visibleArc;
+  }
+
+  /**
+   * Sets the number of items attached on each side of the visible arc when the carousel is virtualized, so they are ready before they rotate into it.
+   *
+   * @param prefetchItemCount The number of items, greater or equal to 0.
+   */
+  public void setPrefetchItemCount(int prefetchItemCount)
+  {
+    if (prefetchItemCount < 0)
+    {
+      throw new IllegalArgumentException("The prefetch item count must be positive");
+    }
+
+    if (this.prefetchItemCount != prefetchItemCount)
+    {
+      this.prefetchItemCount = prefetchItemCount;
+      requestLayout();
+    }
+  }
+
+  public int getPrefetchItemCount()
+  {
+    return prefetchItemCount;
+  }
+
+  /**
+   * Sets how the sine and the cosine of the items angles are computed when the ring rotates. The exact mode is the default one; the lookup table and
+   * the incremental modes trade a negligible precision for fewer trig calls, which pays off with many items.
+   *
+   * @param trigonometry One of {@link #TRIGONOMETRY_EXACT}, {@link #TRIGONOMETRY_LOOKUP_TABLE} or {@link #TRIGONOMETRY_INCREMENTAL}.
+   */
+  public void setTrigonometry(int trigonometry)
+  {
+    if (this.trigonometry == trigonometry)
+    {
+      return;
+    }
+
+    switch (trigonometry)
+    {
+    case Carousel.TRIGONOMETRY_EXACT:
+      geometry.setTrigonometry(new ExactTrigonometry());
+      break;
+
+    case Carousel.TRIGONOMETRY_LOOKUP_TABLE:
+      geometry.setTrigonometry(new LookupTableTrigonometry());
+      break;
+
+    case Carousel.TRIGONOMETRY_INCREMENTAL:
+      geometry.setTrigonometry(new IncrementalTrigonometry());
+      break;
+
+    default:
+      throw new IllegalArgumentException("Unknown trigonometry: " + trigonometry);
+    }
+
+    this.trigonometry = trigonometry;
+    geometry.setRing(ringAngle, getCount());
+
+    // All the items have to be positioned again
+    ringVersion++;
+    invalidateRing();
+  }
+
+  public int getTrigonometry()
+  {
+    return trigonometry;
+  }
+
+  /**
+   * Sets whether the positions of the items are read from a cache of quantized angles instead of being computed for each item which moved. With evenly
+   * spaced items and snapping, the same angles recur constantly; the positions are off by at most an eighth of a degree, and the cache is only
+   * invalidated when the size of the carousel changes. Its hits and misses are counted by the metrics.
+   *
+   * @param transformCacheEnabled Whether or not the transform cache should be used.
+   * @see CarouselMetrics#COUNTER_TRANSFORM_CACHE_HITS
+   */
+  public void setTransformCacheEnabled(boolean transformCacheEnabled)
+  {
+    if (isTransformCacheEnabled() == transformCacheEnabled)
+    {
+      return;
+    }
+
+    geometry.setTransformCache(transformCacheEnabled == true ? new TransformCache() : null);
+
+    // All the items have to be positioned again
+    ringVersion++;
+    invalidateRing();
+  }
+
+  public boolean isTransformCacheEnabled()
+  {
+    return geometry.getTransformCache() != null;
+  }
+
+  /**
+   * Sets how the items are placed on the screen, which can be changed at any time, for instance to compare the two backends. The static
+   * transformations are the default; the view properties need Honeycomb: below API 11, this method does nothing and the static transformations are
+   * kept. The items are ordered by their Z property from Lollipop only.
+   *
+   * @param transformBackend One of {@link #TRANSFORM_STATIC} or {@link #TRANSFORM_VIEW_PROPERTIES}.
+   */
+  public void setTransformBackend(int transformBackend)
+  {
+    if (transformBackend != Carousel.TRANSFORM_STATIC && transformBackend != Carousel.TRANSFORM_VIEW_PROPERTIES)
+    {
+      throw new IllegalArgumentException("Unknown transform backend: " + transformBackend);
+    }
+
+    if (Build.VERSION.SDK_INT < VERSION_CODES.HONEYCOMB || this.transformBackend == transformBackend)
+    {
+      return;
+    }
+
+    this.transformBackend = transformBackend;
+    setStaticTransformationsEnabled(transformBackend == Carousel.TRANSFORM_STATIC);
+    setChildrenDrawingOrderEnabled(usesHardwareDrawingOrder() == false);
+
+    // All the items have to be placed again with the new backend
+    for (int i = 0; i < getChildCount(); i++)
+    {
+      final CarouselItem<?> item = (CarouselItem<?>) getChildAt(i);
+
+      if (transformBackend == Carousel.TRANSFORM_STATIC)
+      {
+        resetViewProperties(item);
+      }
+
+      item.invalidateCIMatrix();
+    }
+
+    invalidateRing();
+
+    // The carousel switched between its own drawing order and the Z of the items
+    invalidate();
+  }
+
+  public int getTransformBackend()
+  {
+    return transformBackend;
+  }
+
+  /**
+   * Register a callback to be invoked each time a frame of the carousel has been drawn. The per-frame measures are only collected while a listener is
+   * set, so they cost nothing otherwise.
+   *
+   * @param listener The callback that will run, or null to stop collecting the measures
+   */
+  public void setOnMetricsListener(OnMetricsListener listener)
+  {
+    onMetricsListener = listener;
+
+    if (listener == null)
+    {
+      metrics = null;
+    }
+    else if (metrics == null)
+    {
+      metrics = new CarouselMetrics();
+
+      if (geometry.getTransformCache() != null)
+      {
+        geometry.getTransformCache().resetCounts();
+      }
+    }
+  }
+
+  public OnMetricsListener getOnMetricsListener()
+  {
+    return onMetricsListener;
+  }
+
+  /**
+   * Counts the frames drawn while the ring did not move and the carousel did not ask for a frame: once a rotation, a transition or a layout is over,
+   * the carousel does not draw any frame, so the count only grows when items invalidate themselves, for instance when their content changes. A test
+   * can check that the count does not grow while the carousel is idle.
+   *
+   * @return The number of frames drawn while nothing changed on the ring
+   */
+  public int getIdleFrameCount()
+  {
+    return idleFrameCounter.getCount();
+  }
+
+  /**
+   * @return The metrics of the carousel, or null if no metrics listener is set
+   */
+  public CarouselMetrics getMetrics()
+  {
+    return metrics;
+  }
+
+  /**
+   * @return The start time of a measured phase, or 0 if the metrics are disabled
+   */
+  private long startPhase()
+  {
+    return metrics == null ? 0L : System.nanoTime();
+  }
+
+  private void endPhase(int phase, long startTime)
   {
-    if (suppressSelectionChanged == true)
+    // The metrics may have been enabled during the phase
+    if (metrics != null && startTime != 0L)
     {
-      suppressSelectionChanged = false;
-
-      // We haven't been callbacking during the fling, so do it now
-      super.selectionChanged();
+      metrics.addPhaseDuration(phase, System.nanoTime() - startTime);
     }
-
-    checkSelectionChanged();
-    invalidate();
   }
 
-  private void onUp()
+  private void incrementCounter(int counter)
   {
-    if (flingRunnable.rotator.isFinished() == true)
+    if (metrics != null)
     {
-      scrollIntoSlots();
+      metrics.increment(counter);
     }
-
-    dispatchUnpress();
   }
 
   /**
-   * Brings an item with nearest to 0 degrees angle to this angle and sets it selected
+   * Adds the hits and the misses of the transform cache since the previous frame to the counters of the current one
    */
-  private void scrollIntoSlots()
+  private void recordTransformCacheCounts()
   {
-    // Nothing to do
-    if (getChildCount() == 0 || selectedChild == null)
+    final TransformCache transformCache = geometry.getTransformCache();
+
+    if (transformCache != null)
     {
-      return;
+      metrics.add(CarouselMetrics.COUNTER_TRANSFORM_CACHE_HITS, (int) transformCache.getHitCount());
+      metrics.add(CarouselMetrics.COUNTER_TRANSFORM_CACHE_MISSES, (int) transformCache.getMissCount());
+      transformCache.resetCounts();
     }
+  }
+
+  private void setUpChild(CarouselItem<?> child, int index)
+  {
+    CarouselTrace.beginSection("Carousel.setUpChild");
 
-    // get nearest item to the 0 degrees angle
-    // Sort itmes and get nearest angle
-    float angle;
-    int position;
+    // Ignore any layout parameters for child, use wrap content
+    addViewInLayout(child, -1 /* index */, generateDefaultLayoutParams());
+    attachSlot(child);
+    child.setSelected(index == selectedPosition);
 
-    ArrayList<CarouselItem<?>> arr = new ArrayList<>();
+    // An item which was not attached appears in its slot
+    child.setTransitionAngle(0.0f);
+    child.setTransitionAngleCaptured(false);
+    child.setRebindPending(false);
 
-    for (int i = 0; i < getAdapter().getCount(); i++)
+    // A recycled item may have been placed by the other backend
+    if (transformBackend == Carousel.TRANSFORM_STATIC && child.isViewPropertiesApplied() == true)
     {
-      arr.add(((CarouselItem<?>) getAdapter().getView(i, null, null)));
+      resetViewProperties(child);
     }
 
-    Collections.sort(arr, new Comparator<CarouselItem<?>>()
-    {
-
-      @Override
-      public int compare(CarouselItem<?> c1, CarouselItem<?> c2)
-      {
-        int a1 = (int) c1.getCurrentAngle();
+    measureAndLayoutChild(child);
 
-        if (a1 > 180)
-        {
-          a1 = 360 - a1;
-        }
+    geometry.setSize(isInLayout == true ? getMeasuredWidth() : getWidth(), getHeight());
+    itemStates.updatePosition(child.getSlot(), geometry, ringAngle, getCount(), ringVersion, 0.0f);
+    CarouselTrace.endSection();
+  }
 
-        int a2 = (int) c2.getCurrentAngle();
+  private void measureAndLayoutChild(CarouselItem<?> child)
+  {
+    final int w = child.getMeasuredWidth();
+    final int h = child.getMeasuredHeight();
 
-        if (a2 > 180)
-        {
-          a2 = 360 - a2;
-        }
+    // Measure child
+    child.measure(w, h);
 
-        return (a1 - a2);
-      }
+    int childLeft;
 
-    });
+    // Position vertically based on gravity setting
+    int childTop = calculateTop(child, true);
 
-    angle = arr.get(0).getCurrentAngle();
+    childLeft = 0;
 
-    // Make it minimum to rotate
-    if (angle > 180.0f)
-    {
-      angle = -(360.0f - angle);
-    }
+    child.layout(childLeft, childTop, w, h);
+    itemStates.setWidth(child.getSlot(), child.getWidth());
+  }
 
-    // Start rotation if needed
-    if (angle != 0.0f)
-    {
-      flingRunnable.startUsingDistance(-angle);
-    }
-    else
-    {
-      // Set selected position
-      position = arr.get(0).getIndex();
-      setSelectedPositionInt(position);
-      onFinishedMovement();
-    }
+  /**
+   * @return True if the child has to be measured and laid out again, because it asked for it or because its bounds are not the ones a layout would
+   * give it
+   */
+  private boolean needsLayout(CarouselItem<?> child)
+  {
+    return child.isLayoutRequested() == true || child.getRight() != child.getMeasuredWidth() || child.getBottom() != child.getMeasuredHeight() || child.getTop() != calculateTop(child, true);
   }
 
-  public void scrollToChild(int i)
+  /**
+   * Asks the adapter to bind again an attached child for its position, after the data changed. The child stays attached if the adapter rebinds it,
+   * otherwise it is replaced by the view returned by the adapter.
+   */
+  private void rebindChild(int index, CarouselItem<?> child)
   {
+    final int position = child.getIndex();
+    final int viewType = adapter.getItemViewType(position);
+    child.setRebindPending(false);
 
-    final CarouselItem<?> view = (CarouselItem<?>) getAdapter().getView(i, null, null);
-    float angle = view.getCurrentAngle();
+    // The child is detached while it is handed to the adapter, so it can go to the scrap pools if the adapter does not use it
+    detachViewFromParent(index);
+    detachSlot(child);
 
-    if (angle == 0)
-    {
-      return;
-    }
+    final CarouselItem<?> view = bindView(position, child.getViewType() == viewType ? child : null, viewType);
 
-    if (angle > 180.0f)
-    {
-      angle = 360.0f - angle;
-    }
-    else
+    if (view != child)
     {
-      angle = -angle;
+      if (child.getViewType() != viewType)
+      {
+        recycler.addScrapView(child, child.getViewType());
+      }
+
+      setUpChild(view, position);
+      return;
     }
 
-    flingRunnable.startUsingDistance(angle);
+    attachViewToParent(child, -1, child.getLayoutParams());
+    attachSlot(child);
+    child.setSelected(position == selectedPosition);
+    measureAndLayoutChild(child);
   }
 
   /**
-   * Whether or not to callback on any {@link #getOnItemSelectedListener()} while the items are being flinged. If false, only the final selected item
-   * will cause the callback. If true, all items between the first and the final will cause callbacks.
-   *
-   * @param shouldCallback Whether or not to callback on the listener while the items are being flinged.
+   * Has to be called once the items moved on the ring. With the static transformations, the carousel is drawn again. With the view properties, the
+   * properties of the attached items are updated, and the carousel is only drawn again when it orders the items itself.
    */
-  public void setCallbackDuringFling(boolean shouldCallback)
+  private void invalidateRing()
   {
-    shouldCallbackDuringFling = shouldCallback;
+    invalidateRing(false);
   }
 
   /**
-   * Whether or not to callback when an item that is not selected is clicked. If false, the item will become selected (and re-centered). If true, the
-   * {@link #getOnItemClickListener()} will get the callback.
-   *
-   * @param shouldCallback Whether or not to callback on the listener when a item that is not selected is clicked.
-   * @hide
+   * @param childrenChanged True if children have been attached or detached: the carousel is then always drawn again, since attaching and detaching
+   *                        children does not redraw it, and its display list would keep drawing the previous children
+   * @see #invalidateRing()
    */
-  public void setCallbackOnUnselectedItemClick(boolean shouldCallback)
+  private void invalidateRing(boolean childrenChanged)
   {
-    shouldCallbackOnUnselectedItemClick = shouldCallback;
+    drawingOrder.invalidate();
+
+    if (transformBackend == Carousel.TRANSFORM_VIEW_PROPERTIES)
+    {
+      applyViewProperties();
+
+      if (usesHardwareDrawingOrder() == true && childrenChanged == false)
+      {
+        return;
+      }
+    }
+
+    invalidate();
   }
 
   /**
-   * Sets how long the transition animation should run when a child view changes position. Only relevant if animation is turned on.
-   *
-   * @param animationDurationMillis The duration of the transition, in milliseconds.
-   * @attr ref android.R.styleable#Gallery_animationDuration
+   * @return True if the items are ordered by their Z property instead of {@link #getChildDrawingOrder(int, int)}
    */
-  public void setAnimationDuration(int animationDurationMillis)
+  private boolean usesHardwareDrawingOrder()
   {
-    animationDuration = animationDurationMillis;
+    return transformBackend == Carousel.TRANSFORM_VIEW_PROPERTIES && Build.VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP;
   }
 
-  public void setGravity(int gravity)
+  /**
+   * Places the attached items through their view properties. The projection of the static transformations only scales the translated item around the
+   * center of the carousel, so it maps exactly to a pivot, a scale and a translation.
+   */
+  private void applyViewProperties()
   {
-    if (this.gravity != gravity)
-    {
-      this.gravity = gravity;
-      requestLayout();
-    }
-  }
+    final long startTime = startPhase();
+    CarouselTrace.beginSection("Carousel.applyViewProperties");
 
-  private void setUpChild(CarouselItem<?> child, int index, float angleOffset)
-  {
-    // Ignore any layout parameters for child, use wrap content
-    addViewInLayout(child, -1 /* index */, generateDefaultLayoutParams());
-    child.setSelected(index == selectedPosition);
+    final float centerX = (float) getWidth() / 2, centerY = (float) getHeight() / 2;
+    final boolean hardwareDrawingOrder = usesHardwareDrawingOrder();
 
-    int h;
-    int w;
-    int d;
+    updateItemPositions();
 
-    if (isInLayout == true)
+    for (int i = 0; i < getChildCount(); i++)
     {
-      w = child.getMeasuredWidth();
-      h = child.getMeasuredHeight();
-      d = getMeasuredWidth();
+      final CarouselItem<?> item = (CarouselItem<?>) getChildAt(i);
+      final int slot = item.getSlot();
 
-    }
-    else
-    {
-      w = child.getMeasuredWidth();
-      h = child.getMeasuredHeight();
-      d = getWidth();
-    }
+      // Only the items which moved since their last frame are updated
+      if (itemStates.isMatrixDirty(slot) == false)
+      {
+        continue;
+      }
 
-    child.setCurrentAngle(angleOffset);
+      final float x = itemStates.getX(slot), y = itemStates.getY(slot), z = itemStates.getZ(slot);
+      final float scale = Projection.getScale(z);
 
-    // Measure child
-    child.measure(w, h);
+      // As the static transformations, the projection is centered on the center of the carousel, in the coordinates of the item, and the y axis of
+      // the camera points up
+      ViewProperties.apply(item, centerX, centerY, scale, x * scale, -y * scale);
 
-    int childLeft;
+      if (hardwareDrawingOrder == true)
+      {
+        // The nearest items have the highest Z, which stays negative so the items do not cast shadows
+        ViewProperties.setTranslationZ(item, -z);
+      }
 
-    // Position vertically based on gravity setting
-    int childTop = calculateTop(child, true);
+      item.setViewPropertiesApplied(true);
 
-    childLeft = 0;
+      // The same matrix as the static transformations, for the hit-testing
+      itemStates.computeMatrix(slot, centerX, centerY, item.getLeft(), item.getTop(), item.getWidth(), item.getHeight());
+      updateHitIndex(item);
+      incrementCounter(CarouselMetrics.COUNTER_MATRICES_COMPUTED);
+    }
 
-    child.layout(childLeft, childTop, w, h);
+    CarouselTrace.endSection();
+    endPhase(CarouselMetrics.PHASE_CHILD_STATIC_TRANSFORMATION, startTime);
+  }
 
-    Calculate3DPosition(child, d, angleOffset);
+  /**
+   * Brings the view properties of an item back to their default values, before it is placed through a static transformation
+   */
+  private void resetViewProperties(CarouselItem<?> item)
+  {
+    ViewProperties.reset(item);
+    item.setViewPropertiesApplied(false);
   }
 
   /**
@@ -715,35 +1743,26 @@ public final class Carousel
       return;
     }
 
-    for (int i = 0; i < getAdapter().getCount(); i++)
-    {
-      CarouselItem<?> child = (CarouselItem<?>) getAdapter().getView(i, null, null);
-      float angle = child.getCurrentAngle();
-      angle += deltaAngle;
-
-      while (angle > 360.0f)
-      {
-        angle -= 360.0f;
-      }
+    final long startTime = startPhase();
+    CarouselTrace.beginSection("Carousel.trackMotionScroll");
 
-      while (angle < 0.0f)
-      {
-        angle += 360.0f;
-      }
+    // Only the ring rotates: the items angles and 3D positions are computed when they are drawn
+    ringAngle = RingGeometry.normalizeAngle(ringAngle + deltaAngle);
+    ringVersion++;
+    geometry.rotate(deltaAngle, ringAngle);
 
-      child.setCurrentAngle(angle);
-      Calculate3DPosition(child, getWidth(), angle);
-    }
+    // Attach the items which rotated into the visible arc
+    final boolean childrenChanged = fillWindow();
 
-    // Clear unused views
-    recycler.clear();
-    invalidate();
+    invalidateRing(childrenChanged);
+    CarouselTrace.endSection();
+    endPhase(CarouselMetrics.PHASE_TRACK_MOTION_SCROLL, startTime);
   }
 
   private void updateSelectedItemMetadata()
   {
     final View oldSelectedChild = selectedChild;
-    final View child = selectedChild = getChildAt(selectedPosition - firstPosition);
+    final View child = selectedChild = getChildForPosition(selectedPosition);
 
     if (child == null)
     {
@@ -775,15 +1794,16 @@ public final class Carousel
   public boolean onDown(MotionEvent e)
   {
     // Kill any existing fling/scroll
-    flingRunnable.stop(false);
+    flingAnimation.stop(false);
 
     // /// Don't know yet what for it is
     // Get the item's view that was touched
     downTouchPosition = pointToPosition((int) e.getX(), (int) e.getY());
 
-    if (downTouchPosition >= 0)
+    downTouchView = downTouchPosition >= 0 ? getChildForPosition(downTouchPosition) : null;
+
+    if (downTouchView != null)
     {
-      downTouchView = getChildAt(downTouchPosition - firstPosition);
       downTouchView.setPressed(true);
     }
 
@@ -811,37 +1831,21 @@ public final class Carousel
       }
     }
 
-    // Fling the gallery!
-    final int currentSelection = getSelectedItemPosition();
-    final int nextSelection;
-
-    if (velocityX > 0)
-    {
-      nextSelection = currentSelection == getChildCount() - 1 ? 0 : currentSelection + 1;
-    }
-    else
-    {
-      nextSelection = currentSelection == 0 ? getChildCount() - 1 : currentSelection - 1;
-    }
-
-    final CarouselItem<?> view = (CarouselItem<?>) getAdapter().getView(nextSelection, null, null);
-    float angle = view.getCurrentAngle();
+    final int count = getCount();
+    final float radius = getWidth() / 2.0f;
 
-    if (angle == 0)
+    if (count == 0 || radius <= 0.0f)
     {
       return false;
     }
 
-    if (angle > 180.0f)
-    {
-      angle = 360.0f - angle;
-    }
-    else
-    {
-      angle = -angle;
-    }
+    // The front item follows the finger: a velocity of the finger is turned into the angular velocity moving the front item as fast
+    final float angularVelocity = (float) Math.toDegrees(-velocityX / radius);
 
-    flingRunnable.startUsingDistance(angle);
+    // The slot the ring rests on is decided up front, so the fling decelerates straight to it, without another rotation into the slot
+    final float rotation = RingGeometry.getFlingRotation(ringAngle, count, Rotation.getFlingDistance(angularVelocity, flingDeceleration));
+
+    flingAnimation.startUsingVelocity(angularVelocity, rotation);
 
     return true;
   }
@@ -995,8 +1999,7 @@ public final class Carousel
   {
     if (isPressed() == true && selectedPosition >= 0)
     {
-      final int index = selectedPosition - firstPosition;
-      final View v = getChildAt(index);
+      final View v = getChildForPosition(selectedPosition);
 
       return dispatchLongPress(v, selectedPosition, selectedRowId);
     }
@@ -1053,8 +2056,7 @@ public final class Carousel
             }
           }, ViewConfiguration.getPressedStateDuration());
 
-          final int selectedIndex = selectedPosition - firstPosition;
-          performItemClick(getChildAt(selectedIndex), selectedPosition, adapter.getItemId(selectedPosition));
+          performItemClick(getChildForPosition(selectedPosition), selectedPosition, adapter.getItemId(selectedPosition));
         }
       }
 
@@ -1148,37 +2150,30 @@ public final class Carousel
   @Override
   protected int getChildDrawingOrder(int childCount, int i)
   {
-    // Sort Carousel items by z coordinate in reverse order
-    final ArrayList<CarouselItem<?>> sl = new ArrayList<>();
-
-    for (int j = 0; j < childCount; j++)
+    // The order is computed once per frame, and only if the items moved since the previous one
+    if (i == 0 && drawingOrder.needsSort(childCount) == true)
     {
-      final CarouselItem<?> view = (CarouselItem<?>) getAdapter().getView(j, null, null);
+      final long startTime = startPhase();
+      CarouselTrace.beginSection("Carousel.getChildDrawingOrder");
 
-      if (i == 0)
+      if (drawingOrderZ.length < childCount)
       {
-        view.setDrawn(false);
+        drawingOrderZ = new float[childCount];
       }
 
-      sl.add((CarouselItem<?>) getAdapter().getView(j, null, null));
-    }
-
-    Collections.sort(sl);
+      updateItemPositions();
 
-    // Get first undrawn item in array and get result index
-    int idx = 0;
-
-    for (CarouselItem<?> civ : sl)
-    {
-      if (civ.isDrawn() == false)
+      for (int j = 0; j < childCount; j++)
       {
-        civ.setDrawn(true);
-        idx = civ.getIndex();
-        break;
+        drawingOrderZ[j] = itemStates.getZ(((CarouselItem<?>) getChildAt(j)).getSlot());
       }
+
+      drawingOrder.sort(drawingOrderZ, childCount);
+      CarouselTrace.endSection();
+      endPhase(CarouselMetrics.PHASE_CHILD_DRAWING_ORDER, startTime);
     }
 
-    return idx;
+    return drawingOrder.get(i);
   }
 
   /**
@@ -1187,39 +2182,35 @@ public final class Carousel
   @Override
   protected boolean getChildStaticTransformation(View child, Transformation transformation)
   {
+    final CarouselItem<?> item = (CarouselItem<?>) child;
+    final long startTime = startPhase();
+    final int slot = item.getSlot();
+
+    updateItemPositions();
     transformation.clear();
     transformation.setTransformationType(Transformation.TYPE_MATRIX);
 
-    // Center of the view
-    final float centerX = (float) getWidth() / 2, centerY = (float) getHeight() / 2;
-
-    // Save camera
-    camera.save();
-
-    // Translate the item to it's coordinates
-    final Matrix matrix = transformation.getMatrix();
-
-    camera.translate(((CarouselItem<?>) child).getItemX(), ((CarouselItem<?>) child).getItemY(), ((CarouselItem<?>) child).getItemZ());
-
-    // Align the item
-    camera.getMatrix(matrix);
-
-    matrix.preTranslate(-centerX, -centerY);
-    matrix.postTranslate(centerX, centerY);
-
-    final float[] values = new float[9];
-    matrix.getValues(values);
+    // The matrix is only computed for the items which moved since their last frame, in Java: it is handed to the native matrix in a single call
+    if (itemStates.isMatrixDirty(slot) == true)
+    {
+      itemStates.computeMatrix(slot, (float) getWidth() / 2, (float) getHeight() / 2, item.getLeft(), item.getTop(), item.getWidth(), item.getHeight());
+      updateHitIndex(item);
 
-    // Restore camera
-    camera.restore();
+      // http://code.google.com/p/android/issues/detail?id=35178: the hardware renderer of these versions only applies a new matrix once the child is
+      // drawn again. The child is only invalidated when its matrix changed, so the carousel stops drawing once the ring stands still
+      if (Build.VERSION.SDK_INT < VERSION_CODES.JELLY_BEAN_MR2)
+      {
+        idleFrameCounter.requestRedraw();
+        child.invalidate();
+      }
 
-    final Matrix mm = new Matrix();
-    mm.setValues(values);
-    ((CarouselItem<?>) child).setCIMatrix(mm);
+      incrementCounter(CarouselMetrics.COUNTER_MATRICES_COMPUTED);
+    }
 
-    // http://code.google.com/p/android/issues/detail?id=35178
-    child.invalidate();
+    itemStates.getMatrix(slot, matrixValues);
+    transformation.getMatrix().setValues(matrixValues);
 
+    endPhase(CarouselMetrics.PHASE_CHILD_STATIC_TRANSFORMATION, startTime);
     return true;
   }
 
@@ -1229,6 +2220,9 @@ public final class Carousel
   @Override
   protected void layout(int delta, boolean animate)
   {
+    final long startTime = startPhase();
+    CarouselTrace.beginSection("Carousel.layout");
+
     if (dataChanged == true)
     {
       handleDataChanged();
@@ -1237,7 +2231,11 @@ public final class Carousel
     // Handle an empty gallery by removing all views.
     if (getCount() == 0)
     {
+      transitionPending = false;
+      ringTransition.cancel();
       resetList();
+      CarouselTrace.endSection();
+      endPhase(CarouselMetrics.PHASE_LAYOUT, startTime);
       return;
     }
 
@@ -1247,34 +2245,142 @@ public final class Carousel
       setSelectedPositionInt(nextSelectedPosition);
     }
 
-    // All views go in recycler while we are in layout
-    recycleAllViews();
-
-    // Clear out old views
-    detachAllViewsFromParent();
-
     final int count = getAdapter().getCount();
     final float angleUnit = 360.0f / count;
-    final float angleOffset = selectedPosition * angleUnit;
 
-    for (int i = 0; i < getAdapter().getCount(); i++)
+    // The selected item is brought to the front of the ring
+    ringAngle = RingGeometry.normalizeAngle(-selectedPosition * angleUnit);
+    ringVersion++;
+    geometry.setRing(ringAngle, count);
+    windowFrontPosition = RingGeometry.getFrontPosition(ringAngle, count);
+
+    final int halfSize = getWindowHalfSize();
+
+    if (attachedStamps.length < count)
+    {
+      attachedStamps = new int[count];
+    }
+
+    layoutStamp++;
+    boolean childrenChanged = false;
+
+    // The attached children stay in place: only the ones which left the window or the adapter are detached, and the data is bound again if it changed
+    for (int i = getChildCount() - 1; i >= 0; i--)
     {
-      float angle = angleUnit * i - angleOffset;
+      final CarouselItem<?> child = (CarouselItem<?>) getChildAt(i);
+      final int position = child.getIndex();
+
+      if (position >= count || RingGeometry.isInWindow(position, windowFrontPosition, halfSize, count) == false)
+      {
+        detachViewFromParent(i);
+        detachSlot(child);
+        recycler.addScrapView(child, child.getViewType());
+        childrenChanged = true;
+        continue;
+      }
+
+      attachedStamps[position] = layoutStamp;
+
+      if (dataChanged == true || child.isRebindPending() == true)
+      {
+        rebindChild(i, child);
+      }
+      else
+      {
+        child.setSelected(position == selectedPosition);
+
+        if (needsLayout(child) == true)
+        {
+          measureAndLayoutChild(child);
+        }
+      }
+    }
 
-      if (angle < 0.0f)
+    // Only the newly visible items are attached: the ring version changed, so the kept ones are positioned again when they are drawn
+    if (halfSize < 0)
+    {
+      for (int i = 0; i < count; i++)
+      {
+        if (attachedStamps[i] != layoutStamp)
+        {
+          makeAndAddView(i);
+          childrenChanged = true;
+        }
+      }
+    }
+    else
+    {
+      // Only the items of the visible arc are attached
+      for (int offset = -halfSize; offset <= halfSize; offset++)
       {
-        angle = 360.0f + angle;
+        final int position = RingGeometry.getWindowPosition(windowFrontPosition, offset, count);
+
+        if (attachedStamps[position] != layoutStamp)
+        {
+          makeAndAddView(position);
+          childrenChanged = true;
+        }
       }
-      makeAndAddView(i, angle);
     }
 
-    // Flush any cached views that did not get reused above
+    // The views that did not get reused above go to the scrap pools
     recycler.clear();
-    invalidate();
+
+    if (transitionPending == true)
+    {
+      startTransition();
+    }
+
+    invalidateRing(childrenChanged);
     setNextSelectedPositionInt(selectedPosition);
     checkSelectionChanged();
     needSync = false;
     updateSelectedItemMetadata();
+    CarouselTrace.endSection();
+    endPhase(CarouselMetrics.PHASE_LAYOUT, startTime);
+  }
+
+  @Override
+  protected void dispatchDraw(Canvas canvas)
+  {
+    idleFrameCounter.onFrame(ringVersion);
+
+    // A single section for all the children, whose transformations are computed while they are drawn
+    CarouselTrace.beginSection("Carousel.dispatchDraw");
+    super.dispatchDraw(canvas);
+    CarouselTrace.endSection();
+
+    if (metrics != null)
+    {
+      recordTransformCacheCounts();
+      metrics.endFrame();
+      onMetricsListener.onFrameMetrics(this, metrics);
+    }
+  }
+
+  @Override
+  protected void onDetachedFromWindow()
+  {
+    super.onDetachedFromWindow();
+
+    // The Choreographer keeps running the frame callbacks of a detached view
+    flingAnimation.stop(false);
+    ringTransition.stop();
+  }
+
+  @Override
+  protected void onSizeChanged(int w, int h, int oldw, int oldh)
+  {
+    super.onSizeChanged(w, h, oldw, oldh);
+
+    // The 3D positions depend on the diameter of the ring
+    ringVersion++;
+
+    // The matrices depend on the center of the carousel
+    for (int i = 0; i < getChildCount(); i++)
+    {
+      ((CarouselItem<?>) getChildAt(i)).invalidateCIMatrix();
+    }
   }
 
   /**
@@ -1293,6 +2399,24 @@ public final class Carousel
     isInLayout = false;
   }
 
+  @Override
+  public void setAdapter(SpinnerAdapter adapter)
+  {
+    if (this.adapter instanceof CarouselAdapter)
+    {
+      ((CarouselAdapter<?>) this.adapter).unregisterItemObserver(itemObserver);
+    }
+
+    transitionPending = false;
+    ringTransition.stop();
+    super.setAdapter(adapter);
+
+    if (adapter instanceof CarouselAdapter)
+    {
+      ((CarouselAdapter<?>) adapter).registerItemObserver(itemObserver);
+    }
+  }
+
   @Override
   protected void selectionChanged()
   {
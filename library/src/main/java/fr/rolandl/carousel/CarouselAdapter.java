@@ -4,8 +4,12 @@ import android.content.Context;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.BaseAdapter;
+import fr.rolandl.carousel.core.ListDiff;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * @author Ludovic ROLAND
@@ -17,16 +21,95 @@ public abstract class CarouselAdapter<T>
     extends BaseAdapter
 {
 
-  private final List<CarouselItem<T>> items = new ArrayList<>();
+  private final Context context;
+
+  /**
+   * The business objects, kept by reference so the adapter follows the changes of the list once notified
+   */
+  private List<T> objects;
+
+  /**
+   * The items built in the constructor, or null if the items are bound on demand
+   */
+  private final List<CarouselItem<T>> items;
+
+  /**
+   * Receive the fine-grained notifications, see {@link #notifyItemRangeChanged(int, int)}
+   */
+  private final List<ListDiff.ListUpdateCallback> itemObservers = new ArrayList<>();
+
+  /**
+   * The items inserted or changed while a diff is dispatched, bound once the whole diff has been applied, or null if no diff is being dispatched
+   */
+  private Set<CarouselItem<T>> staleItems;
+
+  /**
+   * True while a diff is being dispatched
+   */
+  private boolean dispatchingDiff;
+
+  /**
+   * Turns the updates of a diff into fine-grained notifications
+   */
+  private final ListDiff.ListUpdateCallback diffDispatcher = new ListDiff.ListUpdateCallback()
+  {
+    @Override
+    public void onInserted(int position, int count)
+    {
+      notifyItemRangeInserted(position, count);
+    }
+
+    @Override
+    public void onRemoved(int position, int count)
+    {
+      notifyItemRangeRemoved(position, count);
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition)
+    {
+      notifyItemMoved(fromPosition, toPosition);
+    }
+
+    @Override
+    public void onChanged(int position, int count)
+    {
+      notifyItemRangeChanged(position, count);
+    }
+  };
 
   public CarouselAdapter(Context context, List<T> items)
   {
-    for (int i = 0; i < items.size(); i++)
+    this(context, items, false);
+  }
+
+  /**
+   * @param context The context used to create the items
+   * @param items   The business objects
+   * @param lazy    If true, the items are created and bound on demand, when the carousel needs them, and the views rotating out of the carousel are
+   *                bound again to other business objects: the construction does not depend on the number of business objects, and neither does the
+   *                memory when the carousel is virtualized. If false, one item is created and bound for each business object in the constructor.
+   */
+  public CarouselAdapter(Context context, List<T> items, boolean lazy)
+  {
+    this.context = context;
+    this.objects = items;
+
+    if (lazy == true)
     {
-      final CarouselItem<T> item = getCarouselItem(context);
-      item.setIndex(i);
-      item.update(items.get(i));
-      this.items.add(item);
+      this.items = null;
+    }
+    else
+    {
+      this.items = new ArrayList<>(items.size());
+
+      for (int i = 0; i < items.size(); i++)
+      {
+        final CarouselItem<T> item = getCarouselItem(context);
+        item.setIndex(i);
+        item.update(items.get(i));
+        this.items.add(item);
+      }
     }
   }
 
@@ -35,7 +118,7 @@ public abstract class CarouselAdapter<T>
   {
     if (items == null)
     {
-      return 0;
+      return objects == null ? 0 : objects.size();
     }
 
     return items.size();
@@ -53,10 +136,227 @@ public abstract class CarouselAdapter<T>
     return position;
   }
 
+  @SuppressWarnings("unchecked")
   @Override
   public View getView(int position, View convertView, ViewGroup parent)
   {
-    return items.get(position);
+    if (items != null)
+    {
+      return items.get(position);
+    }
+
+    // The convert view is an item of this adapter, which only needs to be bound to another business object
+    final CarouselItem<T> item = convertView != null ? (CarouselItem<T>) convertView : getCarouselItem(context);
+    item.setIndex(position);
+    item.update(objects.get(position));
+
+    return item;
+  }
+
+  /**
+   * @return True if the items are created and bound on demand
+   */
+  public boolean isLazy()
+  {
+    return items == null;
+  }
+
+  /**
+   * Registers an observer of the fine-grained notifications. Without any, these notifications fall back to {@link #notifyDataSetChanged()}.
+   */
+  public void registerItemObserver(ListDiff.ListUpdateCallback observer)
+  {
+    if (itemObservers.contains(observer) == false)
+    {
+      itemObservers.add(observer);
+    }
+  }
+
+  public void unregisterItemObserver(ListDiff.ListUpdateCallback observer)
+  {
+    itemObservers.remove(observer);
+  }
+
+  /**
+   * Replaces the business objects by a new list, and notifies the differences between the two lists only: the unchanged items keep their views, the
+   * changed ones are bound again in place, and the carousel animates its items to their new slots.
+   *
+   * @param objects  The new business objects, which must not be the list currently held by the adapter
+   * @param callback Tells which business objects of the two lists are the same, and whether their content changed
+   * @throws IllegalArgumentException If the new business objects are the list held by the adapter
+   */
+  public void setItems(List<T> objects, ListDiff.ItemCallback<T> callback)
+  {
+    if (objects == this.objects)
+    {
+      throw new IllegalArgumentException("The new business objects must not be the list held by the adapter");
+    }
+
+    final List<T> oldObjects = this.objects;
+    this.objects = objects;
+
+    if (items != null)
+    {
+      staleItems = Collections.newSetFromMap(new IdentityHashMap<CarouselItem<T>, Boolean>());
+    }
+
+    dispatchingDiff = true;
+
+    try
+    {
+      ListDiff.dispatch(oldObjects, objects, callback, diffDispatcher);
+    }
+    finally
+    {
+      dispatchingDiff = false;
+    }
+
+    if (staleItems != null)
+    {
+      // The positions of the updates are the ones of the list being modified: the items are bound once they reached their final position
+      for (int i = 0; i < items.size(); i++)
+      {
+        final CarouselItem<T> item = items.get(i);
+
+        if (staleItems.contains(item) == true)
+        {
+          item.update(objects.get(i));
+        }
+      }
+
+      staleItems = null;
+    }
+
+    if (itemObservers.isEmpty() == true)
+    {
+      notifyDataSetChanged();
+    }
+  }
+
+  public void notifyItemChanged(int position)
+  {
+    notifyItemRangeChanged(position, 1);
+  }
+
+  /**
+   * Notifies that the business objects of a range changed, after the list has been modified. The items stay in place and are bound again.
+   */
+  public void notifyItemRangeChanged(int positionStart, int itemCount)
+  {
+    if (items != null)
+    {
+      for (int i = positionStart; i < positionStart + itemCount; i++)
+      {
+        bindItem(items.get(i), i);
+      }
+    }
+
+    if (dispatchingDiff == false && itemObservers.isEmpty() == true)
+    {
+      notifyDataSetChanged();
+      return;
+    }
+
+    for (int i = itemObservers.size() - 1; i >= 0; i--)
+    {
+      itemObservers.get(i).onChanged(positionStart, itemCount);
+    }
+  }
+
+  public void notifyItemInserted(int position)
+  {
+    notifyItemRangeInserted(position, 1);
+  }
+
+  /**
+   * Notifies that business objects have been inserted, after the list has been modified. The other items keep their views.
+   */
+  public void notifyItemRangeInserted(int positionStart, int itemCount)
+  {
+    if (items != null)
+    {
+      for (int i = positionStart; i < positionStart + itemCount; i++)
+      {
+        final CarouselItem<T> item = getCarouselItem(context);
+        items.add(i, item);
+        bindItem(item, i);
+      }
+    }
+
+    if (dispatchingDiff == false && itemObservers.isEmpty() == true)
+    {
+      notifyDataSetChanged();
+      return;
+    }
+
+    for (int i = itemObservers.size() - 1; i >= 0; i--)
+    {
+      itemObservers.get(i).onInserted(positionStart, itemCount);
+    }
+  }
+
+  public void notifyItemRemoved(int position)
+  {
+    notifyItemRangeRemoved(position, 1);
+  }
+
+  /**
+   * Notifies that business objects have been removed, after the list has been modified. The other items keep their views.
+   */
+  public void notifyItemRangeRemoved(int positionStart, int itemCount)
+  {
+    if (items != null)
+    {
+      items.subList(positionStart, positionStart + itemCount).clear();
+    }
+
+    if (dispatchingDiff == false && itemObservers.isEmpty() == true)
+    {
+      notifyDataSetChanged();
+      return;
+    }
+
+    for (int i = itemObservers.size() - 1; i >= 0; i--)
+    {
+      itemObservers.get(i).onRemoved(positionStart, itemCount);
+    }
+  }
+
+  /**
+   * Notifies that a business object moved, after the list has been modified. The items keep their views.
+   */
+  public void notifyItemMoved(int fromPosition, int toPosition)
+  {
+    if (items != null)
+    {
+      items.add(toPosition, items.remove(fromPosition));
+    }
+
+    if (dispatchingDiff == false && itemObservers.isEmpty() == true)
+    {
+      notifyDataSetChanged();
+      return;
+    }
+
+    for (int i = itemObservers.size() - 1; i >= 0; i--)
+    {
+      itemObservers.get(i).onMoved(fromPosition, toPosition);
+    }
+  }
+
+  /**
+   * Binds an item built in the constructor, or defers it until the end of the diff being dispatched
+   */
+  private void bindItem(CarouselItem<T> item, int position)
+  {
+    if (staleItems != null)
+    {
+      staleItems.add(item);
+    }
+    else
+    {
+      item.update(objects.get(position));
+    }
   }
 
   public abstract CarouselItem<T> getCarouselItem(Context context);
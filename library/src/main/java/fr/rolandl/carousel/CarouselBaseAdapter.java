@@ -520,7 +520,7 @@ public abstract class CarouselBaseAdapter<T extends Adapter>
     {
       if (getChildAt(i).equals(listItem) == true)
       {
-        return firstPosition + i;
+        return getPositionForChildAt(i);
       }
     }
 
@@ -528,6 +528,17 @@ public abstract class CarouselBaseAdapter<T extends Adapter>
     return INVALID_POSITION;
   }
 
+  /**
+   * Returns the position within the adapter's data set of the child at the given index. Children are laid out in adapter order by default.
+   *
+   * @param index The index of the child
+   * @return The position within the adapter's data set
+   */
+  protected int getPositionForChildAt(int index)
+  {
+    return firstPosition + index;
+  }
+
   /**
    * Returns the position within the adapter's data set for the first item displayed on screen.
    *
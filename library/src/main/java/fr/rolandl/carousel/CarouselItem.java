@@ -5,6 +5,8 @@ import android.graphics.Matrix;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.widget.FrameLayout;
+import fr.rolandl.carousel.core.ItemStates;
+import fr.rolandl.carousel.core.Projection;
 
 /**
  * @author Igor Kushnarev, Ludovic Roland
@@ -18,8 +20,24 @@ public abstract class CarouselItem<T>
 
   private int index;
 
+  /**
+   * The states of the items of the carousel the item has been attached to, which own the ring state of the item, or null before
+   */
+  private ItemStates itemStates;
+
+  /**
+   * The slot of the item in {@link #itemStates}, or -1 if it has none
+   */
+  private int slot = -1;
+
+  /**
+   * The ring state of the item while it has no slot: the values set before it is attached, which its slot starts with, or the last values of its slot
+   * once it released it
+   */
   private float currentAngle;
 
+  private float transitionAngle;
+
   private float itemX;
 
   private float itemY;
@@ -28,8 +46,36 @@ public abstract class CarouselItem<T>
 
   private boolean drawn;
 
+  /**
+   * The values of the matrix of the item while it has no slot, see {@link Projection}, and the buffer the values of its slot are read into
+   */
+  private final float[] matrixValues = new float[Projection.MATRIX_SIZE];
+
+  /**
+   * Exposes the matrix of the item through {@link #getCIMatrix()}, allocated on the first call
+   */
   private Matrix matrix;
 
+  /**
+   * True if the item has been placed through its view properties, which have to be reset before it is placed through a static transformation
+   */
+  private boolean viewPropertiesApplied;
+
+  /**
+   * The view type the item has been bound for, see {@link android.widget.Adapter#getItemViewType(int)}
+   */
+  private int viewType;
+
+  /**
+   * True if the transition angle holds the angle the item had before the data changed, not yet turned into a distance to its new slot
+   */
+  private boolean transitionAngleCaptured;
+
+  /**
+   * True if the business object of the item changed, so the item has to be bound again on the next layout
+   */
+  private boolean rebindPending;
+
   public CarouselItem(Context context, int layoutId)
   {
     super(context);
@@ -46,6 +92,11 @@ public abstract class CarouselItem<T>
   public void setIndex(int index)
   {
     this.index = index;
+
+    if (slot != -1)
+    {
+      itemStates.setPosition(slot, index);
+    }
   }
 
   public int getIndex()
@@ -55,68 +106,233 @@ public abstract class CarouselItem<T>
 
   public void setCurrentAngle(float currentAngle)
   {
-    this.currentAngle = currentAngle;
+    if (slot == -1)
+    {
+      this.currentAngle = currentAngle;
+    }
+    else
+    {
+      itemStates.setAngle(slot, currentAngle);
+    }
   }
 
   public float getCurrentAngle()
   {
-    return currentAngle;
+    return slot == -1 ? currentAngle : itemStates.getAngle(slot);
   }
 
   public void setItemX(float x)
   {
-    this.itemX = x;
+    if (slot == -1)
+    {
+      this.itemX = x;
+    }
+    else
+    {
+      itemStates.setX(slot, x);
+    }
   }
 
   public float getItemX()
   {
-    return itemX;
+    return slot == -1 ? itemX : itemStates.getX(slot);
   }
 
   public void setItemY(float y)
   {
-    this.itemY = y;
+    if (slot == -1)
+    {
+      this.itemY = y;
+    }
+    else
+    {
+      itemStates.setY(slot, y);
+    }
   }
 
   public float getItemY()
   {
-    return itemY;
+    return slot == -1 ? itemY : itemStates.getY(slot);
   }
 
   public void setItemZ(float z)
   {
-    this.itemZ = z;
+    if (slot == -1)
+    {
+      this.itemZ = z;
+    }
+    else
+    {
+      itemStates.setZ(slot, z);
+    }
   }
 
   public float getItemZ()
   {
-    return itemZ;
+    return slot == -1 ? itemZ : itemStates.getZ(slot);
   }
 
   public void setDrawn(boolean drawn)
   {
-    this.drawn = drawn;
+    if (slot == -1)
+    {
+      this.drawn = drawn;
+    }
+    else
+    {
+      itemStates.setDrawn(slot, drawn);
+    }
   }
 
   public boolean isDrawn()
   {
-    return drawn;
+    return slot == -1 ? drawn : itemStates.isDrawn(slot);
   }
 
+  /**
+   * @return The matrix the item has last been drawn with
+   */
   public Matrix getCIMatrix()
   {
+    if (matrix == null)
+    {
+      matrix = new Matrix();
+    }
+
+    if (slot != -1)
+    {
+      itemStates.getMatrix(slot, matrixValues);
+    }
+
+    matrix.setValues(matrixValues);
     return matrix;
   }
 
-  void setCIMatrix(Matrix mMatrix)
+  ItemStates getItemStates()
   {
-    this.matrix = mMatrix;
+    return itemStates;
+  }
+
+  int getSlot()
+  {
+    return slot;
+  }
+
+  /**
+   * Binds the item to its slot in the states of the items of a carousel, or unbinds it with null and -1. The ring state moves from the item to its
+   * new slot, and back to the item from the slot it leaves, so it is kept whether the item has a slot or not.
+   */
+  void setSlot(ItemStates itemStates, int slot)
+  {
+    if (this.slot != -1)
+    {
+      currentAngle = this.itemStates.getAngle(this.slot);
+      transitionAngle = this.itemStates.getTransitionAngle(this.slot);
+      itemX = this.itemStates.getX(this.slot);
+      itemY = this.itemStates.getY(this.slot);
+      itemZ = this.itemStates.getZ(this.slot);
+      drawn = this.itemStates.isDrawn(this.slot);
+      this.itemStates.getMatrix(this.slot, matrixValues);
+    }
+
+    this.itemStates = itemStates;
+    this.slot = slot;
+
+    if (slot != -1)
+    {
+      itemStates.setAngle(slot, currentAngle);
+      itemStates.setTransitionAngle(slot, transitionAngle);
+      itemStates.setX(slot, itemX);
+      itemStates.setY(slot, itemY);
+      itemStates.setZ(slot, itemZ);
+      itemStates.setDrawn(slot, drawn);
+    }
+  }
+
+  int getViewType()
+  {
+    return viewType;
+  }
+
+  void setViewType(int viewType)
+  {
+    this.viewType = viewType;
+  }
+
+  float getTransitionAngle()
+  {
+    return slot == -1 ? transitionAngle : itemStates.getTransitionAngle(slot);
+  }
+
+  void setTransitionAngle(float transitionAngle)
+  {
+    if (slot == -1)
+    {
+      this.transitionAngle = transitionAngle;
+    }
+    else
+    {
+      itemStates.setTransitionAngle(slot, transitionAngle);
+    }
+  }
+
+  boolean isTransitionAngleCaptured()
+  {
+    return transitionAngleCaptured;
+  }
+
+  void setTransitionAngleCaptured(boolean transitionAngleCaptured)
+  {
+    this.transitionAngleCaptured = transitionAngleCaptured;
+  }
+
+  boolean isRebindPending()
+  {
+    return rebindPending;
+  }
+
+  void setRebindPending(boolean rebindPending)
+  {
+    this.rebindPending = rebindPending;
+  }
+
+  boolean isViewPropertiesApplied()
+  {
+    return viewPropertiesApplied;
+  }
+
+  void setViewPropertiesApplied(boolean viewPropertiesApplied)
+  {
+    this.viewPropertiesApplied = viewPropertiesApplied;
+  }
+
+  /**
+   * Forces the matrix to be computed again, for instance when the size of the carousel changed
+   */
+  void invalidateCIMatrix()
+  {
+    if (slot != -1)
+    {
+      itemStates.invalidateMatrix(slot);
+    }
+  }
+
+  @Override
+  protected void onLayout(boolean changed, int left, int top, int right, int bottom)
+  {
+    super.onLayout(changed, left, top, right, bottom);
+
+    if (changed == true)
+    {
+      // The quad depends on the bounds of the item
+      invalidateCIMatrix();
+    }
   }
 
   @Override
   public int compareTo(CarouselItem<?> another)
   {
-    return (int) (another.itemZ - this.itemZ);
+    return (int) (another.getItemZ() - getItemZ());
   }
 
   public abstract void extractView(View view);
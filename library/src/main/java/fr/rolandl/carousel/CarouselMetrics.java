@@ -0,0 +1,195 @@
+package fr.rolandl.carousel;
+
+import fr.rolandl.carousel.core.Histogram;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * The per-frame measures of a {@link Carousel}, collected once a {@link Carousel.OnMetricsListener} is set. The time spent in each phase and the
+ * counters are summed over a frame, then recorded into a histogram when the frame is drawn: the durations are in nanoseconds. A phase is only recorded
+ * for the frames it ran in, while the counters are recorded for every frame. The phases may nest: the adapter calls happen during the layout or
+ * during the rotation of the ring.
+ */
+public final class CarouselMetrics
+{
+
+  /**
+   * The rotation of the ring, including the attachment of the items which rotated into the visible arc
+   */
+  public static final int PHASE_TRACK_MOTION_SCROLL = 0;
+
+  /**
+   * The computation of the drawing order of the items
+   */
+  public static final int PHASE_CHILD_DRAWING_ORDER = 1;
+
+  /**
+   * The computation of the transformations of the items
+   */
+  public static final int PHASE_CHILD_STATIC_TRANSFORMATION = 2;
+
+  /**
+   * The layout of the carousel
+   */
+  public static final int PHASE_LAYOUT = 3;
+
+  /**
+   * The calls to the adapter to get and bind the views of the items
+   */
+  public static final int PHASE_ADAPTER_GET_VIEW = 4;
+
+  /**
+   * The number of phases
+   */
+  public static final int PHASE_COUNT = 5;
+
+  /**
+   * The number of items bound by the adapter
+   */
+  public static final int COUNTER_ITEMS_BOUND = 0;
+
+  /**
+   * The number of items whose view has been reused instead of being bound again
+   */
+  public static final int COUNTER_ITEMS_RECYCLED = 1;
+
+  /**
+   * The number of matrices computed for the items which moved
+   */
+  public static final int COUNTER_MATRICES_COMPUTED = 2;
+
+  /**
+   * The number of item positions read from the transform cache, see {@link Carousel#setTransformCacheEnabled(boolean)}
+   */
+  public static final int COUNTER_TRANSFORM_CACHE_HITS = 3;
+
+  /**
+   * The number of item positions computed because they were not in the transform cache
+   */
+  public static final int COUNTER_TRANSFORM_CACHE_MISSES = 4;
+
+  /**
+   * The number of counters
+   */
+  public static final int COUNTER_COUNT = 5;
+
+  private final Histogram[] phaseHistograms = new Histogram[CarouselMetrics.PHASE_COUNT];
+
+  private final Histogram[] counterHistograms = new Histogram[CarouselMetrics.COUNTER_COUNT];
+
+  /**
+   * The time spent in each phase during the current frame
+   */
+  private final long[] framePhaseDurations = new long[CarouselMetrics.PHASE_COUNT];
+
+  /**
+   * Whether each phase ran during the current frame
+   */
+  private final boolean[] framePhaseRan = new boolean[CarouselMetrics.PHASE_COUNT];
+
+  /**
+   * The value of each counter during the current frame
+   */
+  private final int[] frameCounters = new int[CarouselMetrics.COUNTER_COUNT];
+
+  private long frameCount;
+
+  CarouselMetrics()
+  {
+    for (int phase = 0; phase < CarouselMetrics.PHASE_COUNT; phase++)
+    {
+      phaseHistograms[phase] = new Histogram();
+    }
+
+    for (int counter = 0; counter < CarouselMetrics.COUNTER_COUNT; counter++)
+    {
+      counterHistograms[counter] = new Histogram();
+    }
+  }
+
+  /**
+   * @param phase One of the PHASE_ constants
+   * @return The histogram of the time spent in the given phase per frame, in nanoseconds
+   */
+  public Histogram getPhaseHistogram(int phase)
+  {
+    return phaseHistograms[phase];
+  }
+
+  /**
+   * @param counter One of the COUNTER_ constants
+   * @return The histogram of the value of the given counter per frame
+   */
+  public Histogram getCounterHistogram(int counter)
+  {
+    return counterHistograms[counter];
+  }
+
+  /**
+   * @return The number of frames recorded since the creation or the last reset
+   */
+  public long getFrameCount()
+  {
+    return frameCount;
+  }
+
+  /**
+   * Clears all the histograms, typically once they have been forwarded.
+   */
+  public void reset()
+  {
+    for (int phase = 0; phase < CarouselMetrics.PHASE_COUNT; phase++)
+    {
+      phaseHistograms[phase].reset();
+    }
+
+    for (int counter = 0; counter < CarouselMetrics.COUNTER_COUNT; counter++)
+    {
+      counterHistograms[counter].reset();
+    }
+
+    frameCount = 0L;
+  }
+
+  void addPhaseDuration(int phase, long durationNanos)
+  {
+    framePhaseDurations[phase] += durationNanos;
+    framePhaseRan[phase] = true;
+  }
+
+  void increment(int counter)
+  {
+    frameCounters[counter]++;
+  }
+
+  void add(int counter, int value)
+  {
+    frameCounters[counter] += value;
+  }
+
+  /**
+   * Records the measures of the current frame into the histograms, and starts a new frame.
+   */
+  void endFrame()
+  {
+    for (int phase = 0; phase < CarouselMetrics.PHASE_COUNT; phase++)
+    {
+      if (framePhaseRan[phase] == true)
+      {
+        phaseHistograms[phase].record(framePhaseDurations[phase]);
+        framePhaseDurations[phase] = 0L;
+        framePhaseRan[phase] = false;
+      }
+    }
+
+    for (int counter = 0; counter < CarouselMetrics.COUNTER_COUNT; counter++)
+    {
+      counterHistograms[counter].record(frameCounters[counter]);
+      frameCounters[counter] = 0;
+    }
+
+    frameCount++;
+  }
+
+}
@@ -2,7 +2,6 @@ package fr.rolandl.carousel;
 
 import android.content.Context;
 import android.database.DataSetObserver;
-import android.graphics.Matrix;
 import android.graphics.Rect;
 import android.os.Parcel;
 import android.os.Parcelable;
@@ -11,9 +10,11 @@ import android.util.SparseArray;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.AbsSpinner;
+import android.widget.AdapterView;
 import android.widget.SpinnerAdapter;
-import java.util.ArrayList;
-import java.util.Collections;
+import fr.rolandl.carousel.core.HitTester;
+import fr.rolandl.carousel.core.ItemStates;
+import fr.rolandl.carousel.core.SpatialIndex;
 
 /**
  * @author Igor Kushnarev, Ludovic Roland
@@ -82,44 +83,274 @@ public abstract class CarouselSpinner
 
   }
 
+  /**
+   * The views which are not attached anymore, kept to be reused. The views recycled during a layout are kept by position, so they can be attached
+   * back as they are; once the layout is done, the remaining ones go to the scrap pool of their view type, from which the adapter can rebind any of
+   * them for another position.
+   */
   protected class RecycleBin
   {
 
-    private final SparseArray<View> scrapHeap = new SparseArray<>();
+    /**
+     * The default maximum number of scrap views kept for each view type
+     */
+    public static final int DEFAULT_MAX_SCRAP_VIEWS = 5;
+
+    /**
+     * The scrap views of a view type
+     */
+    private final class ScrapPool
+    {
+
+      private View[] views = new View[RecycleBin.DEFAULT_MAX_SCRAP_VIEWS];
+
+      private int size;
+
+      private int maxSize = RecycleBin.DEFAULT_MAX_SCRAP_VIEWS;
+
+    }
+
+    /**
+     * The views recycled during the current layout, by position
+     */
+    private final SparseArray<View> activeViews = new SparseArray<>();
+
+    /**
+     * The scrap pools, by view type
+     */
+    private final SparseArray<ScrapPool> scrapPools = new SparseArray<>();
+
+    private int hitCount;
+
+    private int missCount;
+
+    private int evictionCount;
 
     public void put(int position, View v)
     {
-      scrapHeap.put(position, v);
+      activeViews.put(position, v);
     }
 
     public View get(int position)
     {
-      final View result = scrapHeap.get(position);
+      final View result = activeViews.get(position);
 
       if (result != null)
       {
-        scrapHeap.delete(position);
+        activeViews.delete(position);
       }
 
       return result;
     }
 
+    /**
+     * Returns a scrap view of the given type, so it can be handed to the adapter as a convert view.
+     *
+     * @return A scrap view, or null if the pool of the type is empty
+     */
+    public View getScrapView(int viewType)
+    {
+      final ScrapPool scrapPool = scrapPools.get(viewType);
+
+      if (scrapPool == null)
+      {
+        return null;
+      }
+
+      while (scrapPool.size > 0)
+      {
+        final View result = scrapPool.views[--scrapPool.size];
+        scrapPool.views[scrapPool.size] = null;
+
+        // An adapter which keeps its views may have attached this one again in the meantime
+        if (result.getParent() == null)
+        {
+          return result;
+        }
+      }
+
+      return null;
+    }
+
+    /**
+     * Keeps a detached view to be rebound later, or removes it if the pool of its type is full.
+     */
+    public void addScrapView(View view, int viewType)
+    {
+      if (viewType == AdapterView.ITEM_VIEW_TYPE_IGNORE)
+      {
+        evict(view);
+        return;
+      }
+
+      ScrapPool scrapPool = scrapPools.get(viewType);
+
+      if (scrapPool == null)
+      {
+        scrapPool = new ScrapPool();
+        scrapPools.put(viewType, scrapPool);
+      }
+
+      for (int i = 0; i < scrapPool.size; i++)
+      {
+        if (scrapPool.views[i] == view)
+        {
+          return;
+        }
+      }
+
+      if (scrapPool.size >= scrapPool.maxSize)
+      {
+        evict(view);
+        return;
+      }
+
+      if (scrapPool.size == scrapPool.views.length)
+      {
+        final View[] views = new View[scrapPool.views.length * 2];
+        System.arraycopy(scrapPool.views, 0, views, 0, scrapPool.size);
+        scrapPool.views = views;
+      }
+
+      scrapPool.views[scrapPool.size++] = view;
+    }
+
+    /**
+     * Records whether the adapter rebound the scrap view it has been handed. An unused scrap view goes back to its pool.
+     *
+     * @param scrapView The scrap view handed to the adapter, or null
+     * @param view      The view returned by the adapter
+     * @param viewType  The view type of the position
+     * @return True if the scrap view has been rebound
+     */
+    public boolean onViewBound(View scrapView, View view, int viewType)
+    {
+      if (scrapView != null && scrapView == view)
+      {
+        hitCount++;
+        return true;
+      }
+
+      missCount++;
+
+      if (scrapView != null)
+      {
+        addScrapView(scrapView, viewType);
+      }
+
+      return false;
+    }
+
+    /**
+     * Sets the maximum number of scrap views kept for a view type. The extra views are removed.
+     */
+    public void setMaxScrapViews(int viewType, int maxScrapViews)
+    {
+      ScrapPool scrapPool = scrapPools.get(viewType);
+
+      if (scrapPool == null)
+      {
+        scrapPool = new ScrapPool();
+        scrapPools.put(viewType, scrapPool);
+      }
+
+      scrapPool.maxSize = maxScrapViews;
+
+      while (scrapPool.size > maxScrapViews)
+      {
+        evict(scrapPool.views[--scrapPool.size]);
+        scrapPool.views[scrapPool.size] = null;
+      }
+    }
+
+    /**
+     * @return The number of views the adapter rebound instead of creating new ones
+     */
+    public int getHitCount()
+    {
+      return hitCount;
+    }
+
+    /**
+     * @return The number of views the adapter created, because no scrap view of their type was available or because it did not use it
+     */
+    public int getMissCount()
+    {
+      return missCount;
+    }
+
+    /**
+     * @return The number of views removed because the pool of their type was full
+     */
+    public int getEvictionCount()
+    {
+      return evictionCount;
+    }
+
+    public void resetCounts()
+    {
+      hitCount = 0;
+      missCount = 0;
+      evictionCount = 0;
+    }
+
+    /**
+     * Moves the views recycled during the layout which have not been attached back to the scrap pools.
+     */
     public void clear()
     {
-      final SparseArray<View> scrapHeap = this.scrapHeap;
-      final int count = scrapHeap.size();
+      final SparseArray<View> activeViews = this.activeViews;
+      final int count = activeViews.size();
 
       for (int i = 0; i < count; i++)
       {
-        final View view = scrapHeap.valueAt(i);
+        final View view = activeViews.valueAt(i);
 
-        if (view != null)
+        // A view which has been attached again in the meantime is not scrap anymore
+        if (view != null && view.getParent() == null)
         {
-          removeDetachedView(view, true);
+          addScrapView(view, view instanceof CarouselItem ? ((CarouselItem<?>) view).getViewType() : AdapterView.ITEM_VIEW_TYPE_IGNORE);
         }
       }
 
-      scrapHeap.clear();
+      activeViews.clear();
+    }
+
+    /**
+     * Removes all the recycled views, for instance when the adapter changed and its view types may not be the same anymore.
+     */
+    public void clearScrap()
+    {
+      clear();
+
+      for (int i = 0; i < scrapPools.size(); i++)
+      {
+        final ScrapPool scrapPool = scrapPools.valueAt(i);
+
+        for (int j = 0; j < scrapPool.size; j++)
+        {
+          if (scrapPool.views[j].getParent() == null)
+          {
+            removeDetachedView(scrapPool.views[j], false);
+            releaseSlot(scrapPool.views[j]);
+          }
+
+          scrapPool.views[j] = null;
+        }
+
+        scrapPool.size = 0;
+      }
+    }
+
+    private void evict(View view)
+    {
+      evictionCount++;
+
+      if (view.getParent() == null)
+      {
+        removeDetachedView(view, false);
+        releaseSlot(view);
+      }
     }
 
   }
@@ -146,6 +377,33 @@ public abstract class CarouselSpinner
 
   protected final RecycleBin recycler = new RecycleBin();
 
+  /**
+   * The ring state of the items, indexed by their slot
+   */
+  final ItemStates itemStates = new ItemStates();
+
+  /**
+   * The item of each slot, or null if the slot has been released
+   */
+  private CarouselItem<?>[] slotItems = new CarouselItem<?>[0];
+
+  /**
+   * The projected quads of the items drawn on the last frame, indexed by their slot
+   */
+  private final SpatialIndex hitIndex = new SpatialIndex();
+
+  /**
+   * Only the items which are still children can be hit
+   */
+  private final SpatialIndex.SlotFilter attachedSlotFilter = new SpatialIndex.SlotFilter()
+  {
+    @Override
+    public boolean accept(int slot)
+    {
+      return slotItems[slot] != null && slotItems[slot].getParent() == CarouselSpinner.this;
+    }
+  };
+
   public CarouselSpinner(Context context)
   {
     super(context);
@@ -209,6 +467,8 @@ public abstract class CarouselSpinner
     needSync = false;
 
     removeAllViewsInLayout();
+    recycler.clearScrap();
+    clearSlots();
     oldSelectedPosition = CarouselBaseAdapter.INVALID_POSITION;
     oldSelectedRowId = CarouselBaseAdapter.INVALID_ROW_ID;
 
@@ -231,15 +491,90 @@ public abstract class CarouselSpinner
   {
     final int childCount = getChildCount();
     final CarouselSpinner.RecycleBin recycleBin = recycler;
-    final int position = firstPosition;
 
     // All views go in recycler
     for (int i = 0; i < childCount; i++)
     {
-      View v = getChildAt(i);
-      int index = position + i;
-      recycleBin.put(index, v);
+      final View v = getChildAt(i);
+      recycleBin.put(getPositionForChildAt(i), v);
+    }
+  }
+
+  /**
+   * Sets the maximum number of views of a type kept to be rebound by the adapter. The default maximum is
+   * {@link CarouselSpinner.RecycleBin#DEFAULT_MAX_SCRAP_VIEWS}.
+   *
+   * @param viewType      A view type of the adapter
+   * @param maxScrapViews The maximum number of views kept
+   */
+  public void setMaxRecycledViews(int viewType, int maxScrapViews)
+  {
+    if (maxScrapViews < 0)
+    {
+      throw new IllegalArgumentException("The maximum number of recycled views must be positive");
+    }
+
+    recycler.setMaxScrapViews(viewType, maxScrapViews);
+  }
+
+  /**
+   * @return The number of item views rebound by the adapter instead of being created
+   */
+  public int getRecycledViewHitCount()
+  {
+    return recycler.getHitCount();
+  }
+
+  /**
+   * @return The number of item views created by the adapter, because no view of their type could be rebound
+   */
+  public int getRecycledViewMissCount()
+  {
+    return recycler.getMissCount();
+  }
+
+  /**
+   * @return The number of item views dropped because the recycler kept enough views of their type
+   */
+  public int getRecycledViewEvictionCount()
+  {
+    return recycler.getEvictionCount();
+  }
+
+  public void resetRecycledViewCounts()
+  {
+    recycler.resetCounts();
+  }
+
+  /**
+   * Children are not necessarily laid out in adapter order (the carousel may only attach a part of the ring), so the position is read from the item
+   * itself.
+   */
+  @Override
+  protected int getPositionForChildAt(int index)
+  {
+    return ((CarouselItem<?>) getChildAt(index)).getIndex();
+  }
+
+  /**
+   * Returns the attached child bound to the given position.
+   *
+   * @param position The position within the adapter's data set
+   * @return The child, or null if no child is currently attached for this position
+   */
+  protected View getChildForPosition(int position)
+  {
+    final int childCount = getChildCount();
+
+    for (int i = 0; i < childCount; i++)
+    {
+      if (getPositionForChildAt(i) == position)
+      {
+        return getChildAt(i);
+      }
     }
+
+    return null;
   }
 
   /**
@@ -251,54 +586,127 @@ public abstract class CarouselSpinner
    */
   public int pointToPosition(int x, int y)
   {
-
-    final ArrayList<CarouselItem<?>> fitting = new ArrayList<>();
+    CarouselTrace.beginSection("CarouselSpinner.pointToPosition");
+    int position = selectedPosition;
 
     if (adapter != null)
     {
-      for (int i = 0; i < adapter.getCount(); i++)
+      // Only the items of the cell of the point are tested, and the front most one wins
+      final int slot = hitIndex.query(x, y, attachedSlotFilter);
+
+      if (slot != -1)
       {
-        final CarouselItem<?> item = (CarouselItem<?>) getChildAt(i);
-        final Matrix mm = item.getCIMatrix();
-        final float[] pts = new float[3];
+        position = itemStates.getPosition(slot);
+      }
+    }
+
+    CarouselTrace.endSection();
+    return position;
+  }
 
-        pts[0] = item.getLeft();
-        pts[1] = item.getTop();
-        pts[2] = 0;
+  /**
+   * Gives an item attached as a child a slot in the item states, unless it already has one, and marks it attached.
+   */
+  void attachSlot(CarouselItem<?> item)
+  {
+    if (item.getItemStates() != itemStates || item.getSlot() == -1)
+    {
+      final int slot = itemStates.allocate();
 
-        mm.mapPoints(pts);
+      if (slot >= slotItems.length)
+      {
+        final CarouselItem<?>[] slotItems = new CarouselItem<?>[Math.max(16, itemStates.getSlotCount() * 2)];
+        System.arraycopy(this.slotItems, 0, slotItems, 0, this.slotItems.length);
+        this.slotItems = slotItems;
+      }
 
-        final int mappedLeft = (int) pts[0];
-        final int mappedTop = (int) pts[1];
+      slotItems[slot] = item;
+      item.setSlot(itemStates, slot);
+    }
 
-        pts[0] = item.getRight();
-        pts[1] = item.getBottom();
-        pts[2] = 0;
+    itemStates.setPosition(item.getSlot(), item.getIndex());
+    itemStates.setWidth(item.getSlot(), item.getWidth());
+    itemStates.setAttached(item.getSlot(), true);
+  }
 
-        mm.mapPoints(pts);
+  /**
+   * Indexes the projected quad of an item, once its matrix has been computed.
+   */
+  void updateHitIndex(CarouselItem<?> item)
+  {
+    final int slot = item.getSlot();
 
-        final int mappedRight = (int) pts[0];
-        final int mappedBottom = (int) pts[1];
+    hitIndex.update(slot, itemStates.getQuads(), slot * HitTester.QUAD_SIZE, itemStates.getZ(slot));
+  }
 
-        if (mappedLeft < x && mappedRight > x & mappedTop < y && mappedBottom > y)
-        {
-          fitting.add(item);
-        }
-      }
+  /**
+   * Removes an item from the hit index when it is detached. The item keeps its slot, and its matrix is computed again if it is attached back, so it is
+   * indexed again.
+   */
+  void detachSlot(CarouselItem<?> item)
+  {
+    final int slot = item.getSlot();
+
+    if (slot != -1)
+    {
+      hitIndex.remove(slot);
+      itemStates.setAttached(slot, false);
+      itemStates.invalidateMatrix(slot);
     }
+  }
 
-    Collections.sort(fitting);
+  /**
+   * Gives back the slot of a view the carousel let go of, so it can be reused.
+   */
+  void releaseSlot(View view)
+  {
+    if (view instanceof CarouselItem == false)
+    {
+      return;
+    }
 
-    if (fitting.size() != 0)
+    final CarouselItem<?> item = (CarouselItem<?>) view;
+    final int slot = item.getSlot();
+
+    if (slot != -1 && item.getItemStates() == itemStates)
     {
-      return fitting.get(0).getIndex();
+      hitIndex.remove(slot);
+      itemStates.release(slot);
+      slotItems[slot] = null;
+      item.setSlot(null, -1);
     }
-    else
+  }
+
+  /**
+   * Forgets all the slots, for instance when the items are replaced by the adapter. The remaining children get a slot again.
+   */
+  void clearSlots()
+  {
+    for (int slot = 0; slot < itemStates.getSlotCount(); slot++)
     {
-      return selectedPosition;
+      if (slotItems[slot] != null)
+      {
+        slotItems[slot].setSlot(null, -1);
+        slotItems[slot] = null;
+      }
+    }
+
+    itemStates.clear();
+    hitIndex.clear();
+
+    for (int i = 0; i < getChildCount(); i++)
+    {
+      attachSlot((CarouselItem<?>) getChildAt(i));
     }
   }
 
+  @Override
+  protected void onSizeChanged(int w, int h, int oldw, int oldh)
+  {
+    super.onSizeChanged(w, h, oldw, oldh);
+    hitIndex.setSize(w, h);
+  }
+
   @Override
   public Parcelable onSaveInstanceState()
   {
@@ -390,7 +798,7 @@ public abstract class CarouselSpinner
   {
     if (itemCount > 0 && selectedPosition >= 0)
     {
-      return getChildAt(selectedPosition - firstPosition);
+      return getChildForPosition(selectedPosition);
     }
 
     return null;
@@ -411,6 +819,7 @@ public abstract class CarouselSpinner
   @Override
   protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec)
   {
+    CarouselTrace.beginSection("CarouselSpinner.onMeasure");
     final int widthMode = MeasureSpec.getMode(widthMeasureSpec);
     final int widthSize;
     final int heightSize;
@@ -432,16 +841,25 @@ public abstract class CarouselSpinner
 
     if (selectedPosition >= 0 && adapter != null && selectedPosition < adapter.getCount())
     {
-      // Try looking in the recycler. (Maybe we were measured once already)
-      View view = recycler.get(selectedPosition);
+      // Try the attached child first, then the recycler. (Maybe we were measured once already)
+      View view = getChildForPosition(selectedPosition);
+
+      if (view == null)
+      {
+        view = recycler.get(selectedPosition);
+      }
 
       if (view == null)
       {
         // Make a new one
-        view = adapter.getView(selectedPosition, null, this);
+        final int viewType = adapter.getItemViewType(selectedPosition);
+        final View scrapView = recycler.getScrapView(viewType);
+        view = adapter.getView(selectedPosition, scrapView, this);
+        recycler.onViewBound(scrapView, view, viewType);
+        ((CarouselItem<?>) view).setViewType(viewType);
       }
 
-      if (view != null)
+      if (view != null && view.getParent() == null)
       {
         // Put in recycler for re-measuring and/or layout
         recycler.put(selectedPosition, view);
@@ -484,6 +902,7 @@ public abstract class CarouselSpinner
 
     this.heightMeasureSpec = heightMeasureSpec;
     this.widthMeasureSpec = widthMeasureSpec;
+    CarouselTrace.endSection();
   }
 
   @Override
@@ -0,0 +1,42 @@
+package fr.rolandl.carousel;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Build.VERSION_CODES;
+import android.os.Trace;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Writes the sections of the carousel into the system traces, through {@link Trace} from Jelly Bean MR2, and does nothing below. The section names
+ * are fixed strings, so nothing is built while the application is not being traced.
+ */
+final class CarouselTrace
+{
+
+  private static final boolean SUPPORTED = Build.VERSION.SDK_INT >= VERSION_CODES.JELLY_BEAN_MR2;
+
+  private CarouselTrace()
+  {
+  }
+
+  @TargetApi(VERSION_CODES.JELLY_BEAN_MR2)
+  public static void beginSection(String sectionName)
+  {
+    if (CarouselTrace.SUPPORTED == true)
+    {
+      Trace.beginSection(sectionName);
+    }
+  }
+
+  @TargetApi(VERSION_CODES.JELLY_BEAN_MR2)
+  public static void endSection()
+  {
+    if (CarouselTrace.SUPPORTED == true)
+    {
+      Trace.endSection();
+    }
+  }
+
+}
@@ -0,0 +1,170 @@
+package fr.rolandl.carousel;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Build.VERSION_CODES;
+import android.view.Choreographer;
+import android.view.View;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Schedules a callback on the next display frame. From Jelly Bean, the callback is run by the {@link Choreographer} once per vsync with the timestamp
+ * of the frame; below, it is posted on the message queue of a view with the current time.
+ */
+abstract class FrameScheduler
+{
+
+  /**
+   * Receives the display frames
+   */
+  interface FrameCallback
+  {
+
+    /**
+     * @param frameTimeNanos The time of the frame being rendered, in the {@link System#nanoTime()} time base
+     */
+    void doFrame(long frameTimeNanos);
+
+  }
+
+  /**
+   * A scheduler relying on the {@link Choreographer}: only loaded from Jelly Bean
+   */
+  @TargetApi(VERSION_CODES.JELLY_BEAN)
+  private static final class ChoreographerFrameScheduler
+      extends FrameScheduler
+      implements Choreographer.FrameCallback
+  {
+
+    private final Choreographer choreographer = Choreographer.getInstance();
+
+    public ChoreographerFrameScheduler(FrameScheduler.FrameCallback callback)
+    {
+      super(callback);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos)
+    {
+      dispatchFrame(frameTimeNanos);
+    }
+
+    @Override
+    protected void postFrame()
+    {
+      choreographer.postFrameCallback(this);
+    }
+
+    @Override
+    protected void removeFrame()
+    {
+      choreographer.removeFrameCallback(this);
+    }
+
+  }
+
+  /**
+   * A scheduler relying on the message queue of a view, for the versions without {@link Choreographer}
+   */
+  private static final class PostFrameScheduler
+      extends FrameScheduler
+      implements Runnable
+  {
+
+    private final View view;
+
+    public PostFrameScheduler(View view, FrameScheduler.FrameCallback callback)
+    {
+      super(callback);
+      this.view = view;
+    }
+
+    @Override
+    public void run()
+    {
+      dispatchFrame(System.nanoTime());
+    }
+
+    @Override
+    protected void postFrame()
+    {
+      view.post(this);
+    }
+
+    @Override
+    protected void removeFrame()
+    {
+      view.removeCallbacks(this);
+    }
+
+  }
+
+  /**
+   * @param view     The view whose message queue is used when the {@link Choreographer} is not available
+   * @param callback The callback to run on each frame
+   * @return The scheduler suited to the running version of Android
+   */
+  public static FrameScheduler create(View view, FrameScheduler.FrameCallback callback)
+  {
+    if (Build.VERSION.SDK_INT >= VERSION_CODES.JELLY_BEAN)
+    {
+      return new ChoreographerFrameScheduler(callback);
+    }
+
+    return new PostFrameScheduler(view, callback);
+  }
+
+  private final FrameScheduler.FrameCallback callback;
+
+  /**
+   * Whether a frame is already scheduled: a frame is only scheduled once, whatever the number of calls to {@link #scheduleFrame()}
+   */
+  private boolean scheduled;
+
+  protected FrameScheduler(FrameScheduler.FrameCallback callback)
+  {
+    this.callback = callback;
+  }
+
+  /**
+   * Runs the callback on the next frame, unless it is already scheduled.
+   */
+  public final void scheduleFrame()
+  {
+    if (scheduled == false)
+    {
+      scheduled = true;
+      postFrame();
+    }
+  }
+
+  /**
+   * Removes the scheduled frame, if any.
+   */
+  public final void cancelFrame()
+  {
+    if (scheduled == true)
+    {
+      scheduled = false;
+      removeFrame();
+    }
+  }
+
+  public final boolean isFrameScheduled()
+  {
+    return scheduled;
+  }
+
+  protected final void dispatchFrame(long frameTimeNanos)
+  {
+    scheduled = false;
+    callback.doFrame(frameTimeNanos);
+  }
+
+  protected abstract void postFrame();
+
+  protected abstract void removeFrame();
+
+}
@@ -1,6 +1,7 @@
 package fr.rolandl.carousel;
 
-import android.view.animation.AnimationUtils;
+import fr.rolandl.carousel.core.Motion;
+import fr.rolandl.carousel.core.Rotation;
 
 /**
  * @author Igor Kushnarev, Ludovic Roland
@@ -16,37 +17,33 @@ public final class Rotator
 
   private static final int DEFAULT_DURATION = 250;
 
-  private static final float COEFF_VELOCOTY = 0.05f;
-
-  private static final int SCROLL_MODE = 0;
-
-  private static final int FLING_MODE = 1;
-
-  private final float mDeceleration = 240.0f;
-
-  private int mode;
-
-  private float startAngle;
-
-  private float currAngle;
-
-  private long startTime;
-
-  private long duration;
-
-  private float deltaAngle;
-
-  private boolean finished;
-
-  private float velocity;
-
+  /**
+   * The rotation math, fed with the time in nanoseconds, in the time base of the display frames
+   */
+  private final Rotation rotation = new Rotation();
 
   /**
    * Create a Scroller with the specified interpolator. If the interpolator is null, the default (viscous) interpolator will be used.
    */
   public Rotator()
   {
-    finished = true;
+  }
+
+  /**
+   * Sets how the rotations started with {@link #startRotate(float, float, int)} cover their angle. The current rotation is not affected.
+   *
+   * @param motion An interpolation or a physical model, see {@link fr.rolandl.carousel.core.DecelerateMotion},
+   *               {@link fr.rolandl.carousel.core.OvershootMotion} and {@link fr.rolandl.carousel.core.SpringMotion}, which must not be shared
+   *               with another rotator.
+   */
+  public void setMotion(Motion motion)
+  {
+    rotation.setMotion(motion);
+  }
+
+  public Motion getMotion()
+  {
+    return rotation.getMotion();
   }
 
   /**
@@ -56,7 +53,7 @@ public final class Rotator
    */
   public final boolean isFinished()
   {
-    return finished;
+    return rotation.isFinished();
   }
 
   /**
@@ -66,7 +63,7 @@ public final class Rotator
    */
   public final void forceFinished(boolean finished)
   {
-    this.finished = finished;
+    rotation.forceFinished(finished);
   }
 
   /**
@@ -76,7 +73,7 @@ public final class Rotator
    */
   public final long getDuration()
   {
-    return duration;
+    return rotation.getDuration();
   }
 
   /**
@@ -86,16 +83,15 @@ public final class Rotator
    */
   public final float getCurrAngle()
   {
-    return currAngle;
+    return rotation.getCurrAngle();
   }
 
   /**
-   * @return The original velocity less the deceleration. Result may be negative.
-   * @hide Returns the current velocity.
+   * @return The current angular velocity, in degrees per second, or 0 once the rotation is finished.
    */
   public float getCurrVelocity()
   {
-    return Rotator.COEFF_VELOCOTY * velocity - mDeceleration * timePassed() /* / 2000.0f */;
+    return rotation.getCurrVelocity(System.nanoTime());
   }
 
   /**
@@ -105,7 +101,15 @@ public final class Rotator
    */
   public final float getStartAngle()
   {
-    return startAngle;
+    return rotation.getStartAngle();
+  }
+
+  /**
+   * @return The angle the rotation ends on.
+   */
+  public final float getFinalAngle()
+  {
+    return rotation.getFinalAngle();
   }
 
   /**
@@ -115,14 +119,12 @@ public final class Rotator
    */
   public int timePassed()
   {
-    return (int) (AnimationUtils.currentAnimationTimeMillis() - startTime);
+    return rotation.timePassed(System.nanoTime());
   }
 
   public void extendDuration(int extend)
   {
-    final int passed = timePassed();
-    duration = passed + extend;
-    finished = false;
+    rotation.extendDuration(System.nanoTime(), extend);
   }
 
   /**
@@ -132,7 +134,7 @@ public final class Rotator
    */
   public void abortAnimation()
   {
-    finished = true;
+    rotation.forceFinished(true);
   }
 
   /**
@@ -141,57 +143,32 @@ public final class Rotator
    */
   public boolean computeAngleOffset()
   {
-    if (finished == true)
-    {
-      return false;
-    }
-
-    final long systemClock = AnimationUtils.currentAnimationTimeMillis();
-    final long timePassed = systemClock - startTime;
-
-    if (timePassed < duration)
-    {
-      switch (mode)
-      {
-      case Rotator.SCROLL_MODE:
-        final float sc = (float) timePassed / duration;
-        currAngle = startAngle + Math.round(deltaAngle * sc);
-        break;
-
-      case Rotator.FLING_MODE:
-        final float timePassedSeconds = timePassed / 1000.0f;
-        float distance;
-
-        if (velocity < 0)
-        {
-          distance = Rotator.COEFF_VELOCOTY * velocity * timePassedSeconds - (mDeceleration * timePassedSeconds * timePassedSeconds / 2.0f);
-        }
-        else
-        {
-          distance = -Rotator.COEFF_VELOCOTY * velocity * timePassedSeconds - (mDeceleration * timePassedSeconds * timePassedSeconds / 2.0f);
-        }
-
-        currAngle = startAngle - Math.signum(velocity) * Math.round(distance);
-        break;
-      }
-
-      return true;
-    }
-    else
-    {
-      finished = true;
-      return false;
-    }
+    return computeAngleOffset(System.nanoTime());
+  }
+
+  /**
+   * Same as {@link #computeAngleOffset()}, at the given time.
+   *
+   * @param frameTimeNanos The time of the frame being rendered, in the {@link System#nanoTime()} time base
+   */
+  public boolean computeAngleOffset(long frameTimeNanos)
+  {
+    return rotation.computeAngleOffset(frameTimeNanos);
   }
 
   public void startRotate(float startAngle, float dAngle, int duration)
   {
-    mode = Rotator.SCROLL_MODE;
-    finished = false;
-    this.duration = duration;
-    startTime = AnimationUtils.currentAnimationTimeMillis();
-    this.startAngle = startAngle;
-    deltaAngle = dAngle;
+    rotation.startRotate(System.nanoTime(), startAngle, dAngle, duration);
+  }
+
+  /**
+   * Same as {@link #startRotate(float, float, int)}, from the angular velocity the ring already has, which a physical motion continues from.
+   *
+   * @param velocity The angular velocity, in degrees per second.
+   */
+  public void startRotate(float startAngle, float dAngle, int duration, float velocity)
+  {
+    rotation.startRotate(System.nanoTime(), startAngle, dAngle, duration, velocity);
   }
 
   public void startRotate(float startAngle, float dAngle)
@@ -200,18 +177,25 @@ public final class Rotator
   }
 
   /**
-   * Start scrolling based on a fling gesture. The distance travelled will depend on the initial velocity of the fling.
+   * Redirects the rotation in flight to a new target, keeping its current angle and velocity.
+   *
+   * @param targetAngle The angle the rotation has to end on.
+   * @param duration    The requested duration, in milliseconds, from now.
+   */
+  public void retarget(float targetAngle, int duration)
+  {
+    rotation.retarget(System.nanoTime(), targetAngle, duration);
+  }
+
+  /**
+   * Start rotating based on a fling gesture, decelerating until the given angle has been covered.
    *
-   * @param velocityAngle Initial velocity of the fling (X) measured in pixels per second.
+   * @param velocity     The initial angular velocity of the fling, in degrees per second.
+   * @param deceleration The deceleration of the fling, in degrees per second squared.
    */
-  public void fling(float velocityAngle)
+  public void fling(float startAngle, float dAngle, float velocity, float deceleration)
   {
-    final float velocity = velocityAngle;
-    mode = Rotator.FLING_MODE;
-    finished = false;
-    this.velocity = velocity;
-    duration = (int) (1000.0f * Math.sqrt(2.0f * Rotator.COEFF_VELOCOTY * Math.abs(velocity) / mDeceleration));
-    startTime = AnimationUtils.currentAnimationTimeMillis();
+    rotation.fling(System.nanoTime(), startAngle, dAngle, velocity, deceleration);
   }
 
 }
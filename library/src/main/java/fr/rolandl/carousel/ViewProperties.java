@@ -0,0 +1,61 @@
+package fr.rolandl.carousel;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Build.VERSION_CODES;
+import android.view.View;
+
+/**
+ * @author Ludovic Roland
+ * @since 2026.10.18
+ * <p/>
+ * Places a view through its properties, which exist from Honeycomb: only called once the running version has been checked, see
+ * {@link Carousel#setTransformBackend(int)}. The Z property only exists from Lollipop.
+ */
+@TargetApi(VERSION_CODES.HONEYCOMB)
+final class ViewProperties
+{
+
+  private ViewProperties()
+  {
+  }
+
+  /**
+   * Scales a view around the given pivot, then translates it
+   */
+  public static void apply(View view, float pivotX, float pivotY, float scale, float translationX, float translationY)
+  {
+    view.setPivotX(pivotX);
+    view.setPivotY(pivotY);
+    view.setScaleX(scale);
+    view.setScaleY(scale);
+    view.setTranslationX(translationX);
+    view.setTranslationY(translationY);
+  }
+
+  /**
+   * Must only be called from Lollipop
+   */
+  @TargetApi(VERSION_CODES.LOLLIPOP)
+  public static void setTranslationZ(View view, float translationZ)
+  {
+    view.setTranslationZ(translationZ);
+  }
+
+  /**
+   * Brings the scale and the translations of a view back to their default values
+   */
+  public static void reset(View view)
+  {
+    view.setScaleX(1.0f);
+    view.setScaleY(1.0f);
+    view.setTranslationX(0.0f);
+    view.setTranslationY(0.0f);
+
+    if (Build.VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP)
+    {
+      ViewProperties.setTranslationZ(view, 0.0f);
+    }
+  }
+
+}